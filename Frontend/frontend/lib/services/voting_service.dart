@@ -106,7 +106,8 @@ class VotingService {
       body: jsonEncode(body),
     );
 
-    if (response.statusCode == 200) {
+    // 202: queued by the server's write-behind pipeline
+    if (response.statusCode == 200 || response.statusCode == 202) {
       return;
     } else if (response.statusCode == 401) {
       throw Exception('Authentication expired. Please login again.');
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Start the application built with ./mvnw -Pfaststart package
+# using the AOT-generated context and the CDS archive from the training run.
+#
+# Usage: scripts/run-faststart.sh [spring profile] [extra application args...]
+# Set JFR_DIR to record continuously with the application's flight recorder events (jfr/voting.jfc)
+# and write the recording to that directory.
+set -euo pipefail
+
+PROFILE="${1:-prod}"
+shift || true
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+APP_DIR="$ROOT/target/faststart"
+JAR="$(ls "$APP_DIR"/voting-*.jar | head -n 1)"
+
+JVM_ARGS=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true)
+if [[ -n "${JFR_DIR:-}" ]]; then
+    mkdir -p "$JFR_DIR"
+    JFR_DIR="$(cd "$JFR_DIR" && pwd)"
+    JVM_ARGS+=("-XX:StartFlightRecording=settings=default,settings=$ROOT/jfr/voting.jfc,maxage=24h,disk=true,dumponexit=true,filename=$JFR_DIR/")
+fi
+
+cd "$APP_DIR"
+exec java \
+    "${JVM_ARGS[@]}" \
+    -jar "$(basename "$JAR")" \
+    --spring.profiles.active="$PROFILE",faststart \
+    "$@"
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Measure time from JVM launch to the first successful GET /api/voting/current-week,
+# once for the regular jar and once for the faststart build (AOT + CDS + lazy init).
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Requires a stock JDK 21 on the PATH and curl. Results are written to target/startup-benchmark.txt
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BENCH_DIR="$ROOT/target/startup-benchmark"
+REPORT="$ROOT/target/startup-benchmark.txt"
+
+cd "$ROOT"
+mkdir -p "$BENCH_DIR"
+
+echo "Building regular jar..."
+./mvnw -q -DskipTests package
+cp target/voting-*.jar "$BENCH_DIR/baseline.jar"
+
+echo "Building faststart variant..."
+./mvnw -q -DskipTests -Pfaststart package
+FASTSTART_JAR="$(ls target/faststart/voting-*.jar | head -n 1)"
+
+# Prints milliseconds until /current-week answered 200, then stops the application
+time_to_first_request() {
+    local start end pid
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" --spring.datasource.url="jdbc:h2:mem:bench$RANDOM" > "$BENCH_DIR/app.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/voting/current-week" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited early, see $BENCH_DIR/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'
+}
+
+baseline=()
+faststart=()
+for i in $(seq 1 "$RUNS"); do
+    baseline+=("$(time_to_first_request java -jar "$BENCH_DIR/baseline.jar" --spring.profiles.active=dev)")
+    faststart+=("$(cd target/faststart && time_to_first_request java -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true -jar "$(basename "$FASTSTART_JAR")" --spring.profiles.active=dev,faststart)")
+    echo "Run $i: baseline ${baseline[-1]} ms, faststart ${faststart[-1]} ms"
+done
+
+{
+    echo "Time to first successful /api/voting/current-week ($RUNS runs, $(java -version 2>&1 | head -n 1))"
+    echo "baseline  median: $(printf '%s\n' "${baseline[@]}" | median) ms  runs: ${baseline[*]}"
+    echo "faststart median: $(printf '%s\n' "${faststart[@]}" | median) ms  runs: ${faststart[*]}"
+} | tee "$REPORT"
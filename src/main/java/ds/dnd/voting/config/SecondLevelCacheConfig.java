@@ -0,0 +1,60 @@
+package ds.dnd.voting.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.typesafe.config.ConfigFactory;
+import ds.dnd.voting.model.TimeSlot;
+import ds.dnd.voting.model.VotingWeek;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Gives the Hibernate second-level cache a CacheManager of its own, with every region created up front.
+ * The provider's default CacheManager is shared by the whole JVM, and Hibernate closes it when the
+ * session factory shuts down, which would close the caches of every other application context in the
+ * same JVM (and let separate contexts read each other's entities).
+ * Regions can't be declared in application.conf: Caffeine looks them up as config paths, and the dots in
+ * the region names split them into nested keys. Hibernate is set to fail on any region not created here;
+ * that setting lives here rather than in application.properties because Spring Data's AOT processing
+ * builds a session factory of its own without this customizer.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Maximum entries per region; the other settings come from the "default" block in application.conf
+     */
+    static final Map<String, Long> REGION_SIZES = Map.of(
+            // Timeslots never change after creation; ~9 per week
+            TimeSlot.class.getName(), 5000L,
+            VotingWeek.class.getName(), 500L,
+            VotingWeek.class.getName() + ".timeSlots", 500L
+    );
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer() {
+        return properties -> {
+            CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                    CaffeineCachingProvider.class.getName());
+            CacheManager cacheManager = provider.getCacheManager(
+                    URI.create("voting:l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+
+            CaffeineConfiguration<Object, Object> defaults = TypesafeConfigurator.defaults(ConfigFactory.load());
+            REGION_SIZES.forEach((region, size) -> cacheManager.createCache(region,
+                    new CaffeineConfiguration<>(defaults).setMaximumSize(OptionalLong.of(size))));
+
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package ds.dnd.voting.config;
 
 import ds.dnd.voting.security.JwtAuthenticationFilter;
+import ds.dnd.voting.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -17,6 +18,16 @@ import java.util.List;
 public class WebConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(rateLimitFilter);
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(1); // After CORS, before JWT validation
+        return registrationBean;
+    }
 
     @Bean
     public FilterRegistrationBean<JwtAuthenticationFilter> jwtFilter() {
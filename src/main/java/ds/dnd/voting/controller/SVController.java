@@ -1,16 +1,48 @@
 package ds.dnd.voting.controller;
 
+import ds.dnd.voting.dto.AvailabilityDTO;
+import ds.dnd.voting.dto.BootstrapDTO;
+import ds.dnd.voting.dto.CacheRegionStatsDTO;
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.dto.VoteAckDTO;
 import ds.dnd.voting.dto.VoteRequestDTO;
+import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.WeekChangesDTO;
 import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.dto.WeekVersionDTO;
 import ds.dnd.voting.model.Vote;
-import ds.dnd.voting.model.VotingWeek;
+import ds.dnd.voting.services.AvailabilityIndex;
+import ds.dnd.voting.services.AvailabilityIndex.AvailabilityMode;
+import ds.dnd.voting.services.EntityCacheService;
+import ds.dnd.voting.services.ResultEncoder;
+import ds.dnd.voting.services.ResultEncoder.ResultFormat;
+import ds.dnd.voting.services.ResultsResponseCache;
+import ds.dnd.voting.services.ResultsResponseCache.EncodedResult;
+import ds.dnd.voting.services.VoteExportService;
+import ds.dnd.voting.services.VoteExportService.ExportFormat;
+import ds.dnd.voting.services.VoteWriteBehindQueue;
 import ds.dnd.voting.services.VotingService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/voting")
@@ -19,49 +51,237 @@ import java.util.List;
 public class SVController {
 
     private final VotingService votingService;
+    private final VoteExportService voteExportService;
+    private final EntityCacheService entityCacheService;
+    private final ResultsResponseCache resultsResponseCache;
+    private final VoteWriteBehindQueue voteWriteBehindQueue;
+    private final ResultEncoder resultEncoder;
+    private final AvailabilityIndex availabilityIndex;
 
     /**
      * Get the current active voting week
      */
     @GetMapping("/current-week")
-    public ResponseEntity<VotingWeek> getCurrentWeek() {
-        return ResponseEntity.ok(votingService.getCurrentWeek());
+    public ResponseEntity<CurrentWeekDTO> getCurrentWeek() {
+        CurrentWeekDTO week = votingService.getCurrentWeekView();
+        if (week == null) {
+            ensureCurrentWeek();
+            week = votingService.getCurrentWeekView();
+        }
+        return ResponseEntity.ok(week);
+    }
+
+    /**
+     * Create the active week if there is none yet
+     * Two first requests can race to create it: the second insert hits the single-active-week index,
+     * and by then the week created by the first one is committed
+     *
+     * @return id of the active week
+     */
+    private Long ensureCurrentWeek() {
+        try {
+            return votingService.ensureCurrentWeek();
+        } catch (DataIntegrityViolationException e) {
+            return votingService.ensureCurrentWeek();
+        }
+    }
+
+    /**
+     * Get the current week, its results and the caller's own vote in one response
+     * Works without a token (no own vote then). The ETag changes with the week, its version and the
+     * caller, so a client revalidating with If-None-Match gets a 304 without anything being built.
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<BootstrapDTO> getBootstrap(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String username = (String) request.getAttribute("username");
+
+        if (ifNoneMatch != null) {
+            Optional<WeekVersionDTO> current = votingService.getCurrentWeekVersion();
+            if (current.isPresent()) {
+                String eTag = bootstrapETag(current.get().getWeekId(), current.get().getVersion(), username);
+                if (eTagMatches(ifNoneMatch, eTag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .eTag(eTag)
+                            .cacheControl(CacheControl.noCache().cachePrivate())
+                            .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                            .build();
+                }
+            }
+        }
+
+        // Creating the week needs a write transaction; the snapshot itself is read-only
+        ensureCurrentWeek();
+        BootstrapDTO bootstrap = votingService.getBootstrap(username);
+        return ResponseEntity.ok()
+                .eTag(bootstrapETag(bootstrap.getWeek().getId(), bootstrap.getVersion(), username))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .body(bootstrap);
+    }
+
+    /**
+     * Weak, so the response can still be compressed
+     * The user part is a truncated SHA-256 of the name: no collisions between users in practice, and the
+     * name itself doesn't end up in caches or logs
+     */
+    private static String bootstrapETag(Long weekId, long version, String username) {
+        String user = username != null ? userTag(username) : "anonymous";
+        return "W/\"" + weekId + "-" + version + "-" + user + "\"";
+    }
+
+    private static String userTag(String username) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(username.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Weak comparison against every tag listed in If-None-Match; "*" matches any current representation
+     */
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        String opaqueTag = eTag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Get results for the current week including votes and winner
      */
     @GetMapping("/current-results")
-    public ResponseEntity<WeekResultDTO> getCurrentWeekResults() {
-        return ResponseEntity.ok(votingService.getCurrentWeekResults());
+    public ResponseEntity<byte[]> getCurrentWeekResults(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Long weekId = ensureCurrentWeek();
+        EncodedResult result = resultsResponseCache.getOrEncode(weekId, ResultEncoder.negotiate(accept), true,
+                () -> votingService.getWeekResults(weekId));
+        return encodedResponse(result, acceptEncoding);
     }
 
     /**
      * Get results for a specific week by ID
      */
     @GetMapping("/week/{weekId}/results")
-    public ResponseEntity<WeekResultDTO> getWeekResults(@PathVariable Long weekId) {
-        WeekResultDTO result = votingService.getWeekResults(weekId);
+    public ResponseEntity<byte[]> getWeekResults(
+            @PathVariable Long weekId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        EncodedResult result = resultsResponseCache.getOrEncode(weekId, ResultEncoder.negotiate(accept), false,
+                () -> votingService.getWeekResults(weekId));
         if (result == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(result);
+        return encodedResponse(result, acceptEncoding);
+    }
+
+    /**
+     * Get the changes to a week's results since the version the client already has
+     * Clients start with since=0 and pass the returned version on the next poll
+     */
+    @GetMapping("/week/{weekId}/changes")
+    public ResponseEntity<WeekChangesDTO> getWeekChanges(@PathVariable Long weekId, @RequestParam(defaultValue = "0") long since) {
+        WeekChangesDTO changes = votingService.getWeekChanges(weekId, since);
+        if (changes == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(changes);
+    }
+
+    /**
+     * Which slots a set of players can attend, e.g. ?mode=all&players=DM,Alice,Bob
+     * mode: all (every player), any (at least one) or top (the k best covered slots); no players means all voters
+     */
+    @GetMapping("/week/{weekId}/availability")
+    public ResponseEntity<AvailabilityDTO> getAvailability(
+            @PathVariable Long weekId,
+            @RequestParam(defaultValue = "all") String mode,
+            @RequestParam(defaultValue = "") List<String> players,
+            @RequestParam(defaultValue = "3") int k) {
+        AvailabilityMode availabilityMode;
+        try {
+            availabilityMode = AvailabilityMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (k < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AvailabilityDTO availability = availabilityIndex.query(weekId, availabilityMode, players, k);
+        if (availability == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(availability);
     }
 
     /**
      * Get all past weeks with their results (deadlines that have passed)
      */
     @GetMapping("/past-weeks")
-    public ResponseEntity<List<WeekResultDTO>> getAllPastWeeks() {
-        return ResponseEntity.ok(votingService.getAllPastWeeks());
+    public ResponseEntity<byte[]> getAllPastWeeks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return encodedListResponse(votingService.getAllPastWeeks(), ResultEncoder.negotiate(accept));
     }
 
     /**
      * Get all weeks including current
      */
     @GetMapping("/all-weeks")
-    public ResponseEntity<List<WeekResultDTO>> getAllWeeks() {
-        return ResponseEntity.ok(votingService.getAllWeeks());
+    public ResponseEntity<byte[]> getAllWeeks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return encodedListResponse(votingService.getAllWeeks(), ResultEncoder.negotiate(accept));
+    }
+
+    /**
+     * Export the full voting history, one row per (week, voter, slot, preferred)
+     * Streams from a database cursor, optionally gzip-compressed and limited to a deadline range
+     */
+    @GetMapping("/export")
+    public void exportVotes(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return;
+        }
+
+        // A gzip download is a .gz file; with Content-Encoding clients would unpack it into a misnamed file
+        if (gzip) {
+            response.setContentType("application/gzip");
+        } else {
+            response.setContentType(exportFormat.getContentType());
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"votes." + exportFormat.getFileExtension() + (gzip ? ".gz\"" : "\""));
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                voteExportService.export(from, to, exportFormat, gzipOut);
+            }
+        } else {
+            voteExportService.export(from, to, exportFormat, out);
+        }
     }
 
     /**
@@ -69,23 +289,87 @@ public class SVController {
      * Username is extracted from JWT token
      */
     @PostMapping("/vote")
-    public ResponseEntity<Vote> submitVote(@RequestBody VoteRequestDTO voteRequest, HttpServletRequest request) {
+    public ResponseEntity<?> submitVote(@RequestBody VoteRequestDTO voteRequest, HttpServletRequest request) {
         // Get authenticated username from request attribute (set by JWT filter)
         String username = (String) request.getAttribute("username");
 
+        if (voteWriteBehindQueue.isEnabled()) {
+            // Validate now, save later in a batch; the client polls the sequence number
+            ensureCurrentWeek();
+            votingService.validateVote(voteRequest.getTimeSlotIds(), voteRequest.getPreferredTimeSlotIds());
+            try {
+                long sequence = voteWriteBehindQueue.enqueue(
+                        username,
+                        voteRequest.getTimeSlotIds(),
+                        voteRequest.getPreferredTimeSlotIds()
+                );
+                return ResponseEntity.accepted().body(new VoteAckDTO(sequence, "PENDING", null));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new VoteAckDTO(0, "FAILED", e.getMessage()));
+            }
+        }
+
         Vote vote = votingService.submitVote(
                 username,
                 voteRequest.getTimeSlotIds(),
                 voteRequest.getPreferredTimeSlotIds()
         );
-        return ResponseEntity.ok(vote);
+        return ResponseEntity.ok(VotingService.toVoteResultDTO(vote));
+    }
+
+    /**
+     * Status of a vote accepted by the write-behind pipeline
+     * Only the instance that accepted the vote knows it (see VoteWriteBehindQueue); 404 on any other
+     */
+    @GetMapping("/vote-status/{sequence}")
+    public ResponseEntity<VoteAckDTO> getVoteStatus(@PathVariable long sequence) {
+        VoteAckDTO status = voteWriteBehindQueue.getStatus(sequence);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Second-level cache hit/miss statistics per region (requires authentication)
+     * Counters are only collected where hibernate.generate_statistics is on (dev and test profiles)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
     }
 
     /**
      * Manually trigger a week reset (useful for testing/admin, requires authentication)
      */
     @PostMapping("/reset-week")
-    public ResponseEntity<VotingWeek> resetWeek() {
+    public ResponseEntity<CurrentWeekDTO> resetWeek() {
         return ResponseEntity.ok(votingService.resetWeek());
     }
+
+    /**
+     * Write pre-encoded results, using the gzip variant if there is one and the client accepts it
+     */
+    private static ResponseEntity<byte[]> encodedResponse(EncodedResult result, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(result.format().getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+
+        if (result.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(result.gzip());
+        }
+        return builder.body(result.body());
+    }
+
+    /**
+     * Encode a list of week results in the negotiated format (compressed by the server if large enough)
+     */
+    private ResponseEntity<byte[]> encodedListResponse(List<WeekResultDTO> results, ResultFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(resultEncoder.encodeAll(results, format));
+    }
 }
@@ -0,0 +1,22 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Answer to an availability query over a set of players (all voters if none were given).
+ * unknownPlayers lists queried names without a vote in that week.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDTO {
+    private Long weekId;
+    private String mode;
+    private List<String> players;
+    private List<String> unknownPlayers;
+    private List<SlotCoverageDTO> slots;
+}
@@ -0,0 +1,19 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the web client needs on load, read in one transaction.
+ * myVote is null for anonymous callers and for users who haven't voted this week.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapDTO {
+    private CurrentWeekDTO week;
+    private WeekResultDTO results;
+    private VoteResultDTO myVote;
+    private long version;
+}
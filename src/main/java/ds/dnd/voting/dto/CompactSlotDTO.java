@@ -0,0 +1,17 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactSlotDTO {
+    private Long id;
+    private LocalDateTime datetime;
+    private int voteCount;
+    private int preferredVoteCount;
+}
@@ -0,0 +1,19 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A voter's selections as indexes into the week's slot list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactVoteDTO {
+    private String voterName;
+    private List<Integer> slots;
+    private List<Integer> preferred;
+}
@@ -0,0 +1,23 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Slot-index based shape of WeekResultDTO (application/vnd.dnd.compact+json):
+ * slot datetimes are sent once per week, votes and winners refer to slots by index
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactWeekResultDTO {
+    private Long weekId;
+    private LocalDate deadline;
+    private List<CompactSlotDTO> slots;
+    private List<Integer> winners;
+    private List<CompactVoteDTO> votes;
+}
@@ -0,0 +1,21 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read model for the active voting week and its timeslots
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentWeekDTO {
+    private Long id;
+    private LocalDate deadline;
+    private boolean active;
+    private List<TimeSlotDTO> timeSlots;
+}
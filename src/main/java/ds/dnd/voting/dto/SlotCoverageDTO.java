@@ -0,0 +1,20 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A timeslot with the number of queried players that can attend and that prefer it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotCoverageDTO {
+    private Long timeSlotId;
+    private LocalDateTime datetime;
+    private int availableCount;
+    private int preferredCount;
+}
@@ -0,0 +1,17 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement for a queued vote; poll its status by sequence number
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteAckDTO {
+    private long sequence;
+    private String status; // PENDING, SAVED, FAILED or UNKNOWN (too old, its failure may have been forgotten)
+    private String message;
+}
@@ -0,0 +1,23 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One exported row: a single timeslot selected by a voter in a given week
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteExportRowDTO {
+    private Long weekId;
+    private LocalDate deadline;
+    private String voterName;
+    private Long timeSlotId;
+    private LocalDateTime datetime;
+    private Boolean preferred;
+}
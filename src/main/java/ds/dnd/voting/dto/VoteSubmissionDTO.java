@@ -0,0 +1,20 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A validated vote waiting in the write-behind queue
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteSubmissionDTO {
+    private long sequence;
+    private String voterName;
+    private List<Long> timeSlotIds;
+    private List<Long> preferredTimeSlotIds;
+}
@@ -0,0 +1,25 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a week's results since a client's version.
+ * If snapshot is true, results holds the full results and the other lists are empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekChangesDTO {
+    private Long weekId;
+    private long version;
+    private boolean snapshot;
+    private WeekResultDTO results;
+    private List<VoteResultDTO> changedVotes;
+    private List<String> removedVoters;
+    private List<TimeSlotStatsDTO> timeSlots;
+    private List<TimeSlotStatsDTO> winnerTimeSlots;
+}
@@ -0,0 +1,21 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection row of a week joined with one of its timeslots
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekSlotRowDTO {
+    private Long weekId;
+    private LocalDate deadline;
+    private Long timeSlotId;
+    private LocalDateTime datetime;
+}
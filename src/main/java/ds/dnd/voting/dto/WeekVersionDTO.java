@@ -0,0 +1,16 @@
+package ds.dnd.voting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The active week and its current version, as polled by the cache coherence watcher
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekVersionDTO {
+    private Long weekId;
+    private long version;
+}
@@ -1,5 +1,6 @@
 package ds.dnd.voting.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -22,6 +23,12 @@ public class Vote {
     @Column(nullable = false)
     private String voterName;
 
+    // Unique together with voterName; null only for legacy votes without any selection
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "voting_week_id")
+    @JsonIgnore
+    private VotingWeek votingWeek;
+
     @ManyToMany
     @JoinTable(
             name = "vote_timeslots",
@@ -0,0 +1,54 @@
+package ds.dnd.voting.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log entry: a voter's vote in a week changed at the given week version
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class VoteChange {
+
+    public enum ChangeType {
+        UPSERTED,
+        REMOVED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "voting_week_id", nullable = false)
+    private Long votingWeekId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private String voterName;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain varchar, not a native enum type, on every database
+    @Column(nullable = false)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public VoteChange(Long votingWeekId, long version, String voterName, ChangeType changeType, LocalDateTime changedAt) {
+        this.votingWeekId = votingWeekId;
+        this.version = version;
+        this.voterName = voterName;
+        this.changeType = changeType;
+        this.changedAt = changedAt;
+    }
+}
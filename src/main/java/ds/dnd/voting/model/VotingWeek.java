@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +30,7 @@ public class VotingWeek {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<TimeSlot> timeSlots;
 
     @Column(nullable = false)
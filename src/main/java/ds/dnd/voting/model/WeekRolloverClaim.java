@@ -0,0 +1,28 @@
+package ds.dnd.voting.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Record of which instance performed the weekly rollover of a given date
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class WeekRolloverClaim {
+
+    @Id
+    private LocalDate rolloverDate;
+
+    @Column(nullable = false)
+    private String claimedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime claimedAt;
+}
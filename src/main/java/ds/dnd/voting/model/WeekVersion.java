@@ -0,0 +1,29 @@
+package ds.dnd.voting.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Monotonic per-week version, incremented in the same transaction as every vote change.
+ * The row lock taken by the increment also orders concurrent writers of the same week.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class WeekVersion {
+
+    @Id
+    @Column(name = "voting_week_id")
+    private Long weekId;
+
+    @Column(nullable = false)
+    private long version;
+
+    public WeekVersion(Long weekId, long version) {
+        this.weekId = weekId;
+        this.version = version;
+    }
+}
@@ -0,0 +1,24 @@
+package ds.dnd.voting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ds.dnd.voting.Authentication")
+@Label("Authentication")
+@Category({"DnD Voting", "Web"})
+@Description("Authentication decision of JwtAuthenticationFilter, without the rest of the filter chain")
+public class AuthenticationEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Outcome")
+    @Description("PUBLIC, AUTHENTICATED or REJECTED")
+    public String outcome;
+}
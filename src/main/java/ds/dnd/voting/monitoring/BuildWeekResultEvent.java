@@ -0,0 +1,26 @@
+package ds.dnd.voting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ds.dnd.voting.BuildWeekResult")
+@Label("Build Week Result")
+@Category({"DnD Voting", "Service"})
+@Description("Week results built from the database (cache misses of the results cache)")
+public class BuildWeekResultEvent extends Event {
+
+    @Label("Week Id")
+    public long weekId;
+
+    @Label("Slots")
+    public int slotCount;
+
+    @Label("Votes")
+    public int voteCount;
+
+    @Label("Queries")
+    public int queryCount;
+}
@@ -0,0 +1,23 @@
+package ds.dnd.voting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ds.dnd.voting.CreateWeek")
+@Label("Create Week")
+@Category({"DnD Voting", "Service"})
+@Description("A new voting week was created (reset or weekly rollover)")
+public class CreateWeekEvent extends Event {
+
+    @Label("Week Id")
+    public long weekId;
+
+    @Label("Slots")
+    public int slotCount;
+
+    @Label("Queries")
+    public int queryCount;
+}
@@ -0,0 +1,50 @@
+package ds.dnd.voting.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so flight recorder events
+ * can report how many queries an operation issued (difference of two readings).
+ * Can also record the statements themselves, e.g. to check their query plans in tests.
+ * Registered via hibernate.session_factory.statement_inspector.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Run the action and return the statements it prepared on this thread, in order
+     */
+    public static List<String> record(Runnable action) {
+        List<String> previous = RECORDED.get();
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            action.run();
+        } finally {
+            RECORDED.set(previous);
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,29 @@
+package ds.dnd.voting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ds.dnd.voting.SubmitVote")
+@Label("Submit Vote")
+@Category({"DnD Voting", "Service"})
+@Description("VotingService.submitVote, without the commit")
+public class SubmitVoteEvent extends Event {
+
+    @Label("Week Id")
+    public long weekId;
+
+    @Label("Selected Slots")
+    public int slotCount;
+
+    @Label("Preferred Slots")
+    public int preferredCount;
+
+    @Label("Queries")
+    public int queryCount;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -5,8 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
 
+    List<TimeSlot> findByVotingWeekIdOrderByDatetime(Long votingWeekId);
+
     @Query("SELECT COUNT(v) FROM Vote v JOIN v.timeslots t WHERE t.id = :timeSlotId")
     Long countVotesByTimeSlotId(@Param("timeSlotId") Long timeSlotId);
 
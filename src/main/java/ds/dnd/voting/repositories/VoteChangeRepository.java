@@ -0,0 +1,27 @@
+package ds.dnd.voting.repositories;
+
+import ds.dnd.voting.model.VoteChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VoteChangeRepository extends JpaRepository<VoteChange, Long> {
+
+    List<VoteChange> findByVotingWeekIdAndVersionGreaterThanOrderByVersion(Long votingWeekId, long version);
+
+    @Query("SELECT MIN(c.version) FROM VoteChange c WHERE c.votingWeekId = :weekId")
+    Optional<Long> findOldestVersion(@Param("weekId") Long weekId);
+
+    long countByVotingWeekIdAndVersionGreaterThan(Long votingWeekId, long version);
+
+    /**
+     * Closed weeks no longer change, so their log is dropped; clients fall back to a snapshot
+     */
+    @Modifying
+    @Query("DELETE FROM VoteChange c WHERE c.votingWeekId <> :weekId")
+    void deleteAllExceptWeek(@Param("weekId") Long weekId);
+}
@@ -1,19 +1,55 @@
 package ds.dnd.voting.repositories;
 
+import ds.dnd.voting.dto.VoteExportRowDTO;
 import ds.dnd.voting.model.Vote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
 
     @Query("SELECT vote FROM Vote vote JOIN vote.timeslots timeslot WHERE timeslot.votingWeek.id = :weekId")
     List<Vote> findVotesByVotingWeek(@Param("weekId") Long weekId);
 
-    @Query("SELECT DISTINCT vote FROM Vote vote JOIN vote.timeslots timeslot WHERE vote.voterName = :voterName AND timeslot.votingWeek.id = :weekId")
+    /**
+     * A voter's vote in a week (unique index on week and voter), also if its selection is empty
+     */
+    @Query("SELECT vote FROM Vote vote WHERE vote.voterName = :voterName AND vote.votingWeek.id = :weekId")
     Optional<Vote> findByVoterNameAndVotingWeek(@Param("voterName") String voterName, @Param("weekId") Long weekId);
 
+    /**
+     * Every (voter, slot) selection of one week, projected straight into rows
+     */
+    @Query("SELECT new ds.dnd.voting.dto.VoteExportRowDTO(" +
+            "week.id, week.deadline, vote.voterName, timeslot.id, timeslot.datetime, " +
+            "CASE WHEN timeslot MEMBER OF vote.preferredTimeSlots THEN true ELSE false END) " +
+            "FROM Vote vote JOIN vote.timeslots timeslot JOIN timeslot.votingWeek week " +
+            "WHERE week.id = :weekId")
+    List<VoteExportRowDTO> findSelectionRowsByVotingWeek(@Param("weekId") Long weekId);
+
+    /**
+     * Forward-only cursor over every (week, voter, slot) selection with a deadline in the given range.
+     * Rows are projected straight into DTOs so nothing accumulates in the persistence context.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @Query("SELECT new ds.dnd.voting.dto.VoteExportRowDTO(" +
+            "week.id, week.deadline, vote.voterName, timeslot.id, timeslot.datetime, " +
+            "CASE WHEN timeslot MEMBER OF vote.preferredTimeSlots THEN true ELSE false END) " +
+            "FROM Vote vote JOIN vote.timeslots timeslot JOIN timeslot.votingWeek week " +
+            "WHERE week.deadline >= :from AND week.deadline <= :to " +
+            "ORDER BY week.deadline, week.id, vote.voterName, timeslot.datetime")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<VoteExportRowDTO> streamExportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
 }
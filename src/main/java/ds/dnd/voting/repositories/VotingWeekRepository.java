@@ -1,9 +1,11 @@
 package ds.dnd.voting.repositories;
 
+import ds.dnd.voting.dto.WeekSlotRowDTO;
 import ds.dnd.voting.model.VotingWeek;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,6 +17,19 @@ public interface VotingWeekRepository extends JpaRepository<VotingWeek, Long> {
 
     List<VotingWeek> findAllByOrderByDeadlineDesc();
 
+    /**
+     * Current active flag straight from the database (bypasses the cached entity)
+     */
+    @Query("SELECT w.active FROM VotingWeek w WHERE w.id = :weekId")
+    boolean isActive(@Param("weekId") Long weekId);
+
+    /**
+     * The active week and its timeslots as flat rows in a single query (one row per slot)
+     */
+    @Query("SELECT new ds.dnd.voting.dto.WeekSlotRowDTO(w.id, w.deadline, t.id, t.datetime) " +
+            "FROM VotingWeek w LEFT JOIN w.timeSlots t WHERE w.active = true ORDER BY t.datetime")
+    List<WeekSlotRowDTO> findActiveWeekSlotRows();
+
     @Modifying
     @Transactional
     @Query("UPDATE VotingWeek w SET w.active = false WHERE w.active = true")
@@ -0,0 +1,25 @@
+package ds.dnd.voting.repositories;
+
+import ds.dnd.voting.model.WeekRolloverClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface WeekRolloverClaimRepository extends JpaRepository<WeekRolloverClaim, LocalDate> {
+
+    /**
+     * Plain insert (save() would merge into an existing claim)
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the date is already claimed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO week_rollover_claim (rollover_date, claimed_by, claimed_at) " +
+            "VALUES (:rolloverDate, :claimedBy, :claimedAt)", nativeQuery = true)
+    void claim(@Param("rolloverDate") LocalDate rolloverDate,
+               @Param("claimedBy") String claimedBy,
+               @Param("claimedAt") LocalDateTime claimedAt);
+}
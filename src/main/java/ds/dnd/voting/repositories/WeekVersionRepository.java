@@ -0,0 +1,49 @@
+package ds.dnd.voting.repositories;
+
+import ds.dnd.voting.dto.WeekVersionDTO;
+import ds.dnd.voting.model.WeekVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface WeekVersionRepository extends JpaRepository<WeekVersion, Long> {
+
+    /**
+     * Increment the week's version; locks the row until the surrounding transaction ends
+     *
+     * @return number of updated rows (0 if the week has no version row yet)
+     */
+    @Modifying
+    @Query("UPDATE WeekVersion v SET v.version = v.version + 1 WHERE v.weekId = :weekId")
+    int incrementVersion(@Param("weekId") Long weekId);
+
+    /**
+     * Lock the week's version row without changing it, e.g. to check the week is still open before voting
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM WeekVersion v WHERE v.weekId = :weekId")
+    Optional<WeekVersion> lockVersion(@Param("weekId") Long weekId);
+
+    /**
+     * Increment the version of the active week(s), locking them like incrementVersion does
+     */
+    @Modifying
+    @Query("UPDATE WeekVersion v SET v.version = v.version + 1 " +
+            "WHERE v.weekId IN (SELECT w.id FROM VotingWeek w WHERE w.active = true)")
+    int incrementActiveWeekVersions();
+
+    @Query("SELECT v.version FROM WeekVersion v WHERE v.weekId = :weekId")
+    Optional<Long> findVersion(@Param("weekId") Long weekId);
+
+    /**
+     * Version of the active week in one indexed lookup, cheap enough to poll every second
+     */
+    @Query("SELECT new ds.dnd.voting.dto.WeekVersionDTO(v.weekId, v.version) " +
+            "FROM WeekVersion v, VotingWeek w WHERE w.id = v.weekId AND w.active = true")
+    Optional<WeekVersionDTO> findActiveWeekVersion();
+}
@@ -1,5 +1,6 @@
 package ds.dnd.voting.security;
 
+import ds.dnd.voting.monitoring.AuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,12 +17,38 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String OUTCOME_PUBLIC = "PUBLIC";
+    private static final String OUTCOME_AUTHENTICATED = "AUTHENTICATED";
+    private static final String OUTCOME_REJECTED = "REJECTED";
+
     private final AuthService authService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        // Recorded before the rest of the chain runs, so the event covers only the authentication decision
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        String outcome = authenticate(request, response);
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.outcome = outcome;
+            event.commit();
+        }
+
+        if (!OUTCOME_REJECTED.equals(outcome)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Check the token for protected endpoints; on failure the 401 response is written here
+     *
+     * @return PUBLIC, AUTHENTICATED or REJECTED
+     */
+    private String authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         String path = request.getRequestURI();
         String method = request.getMethod();
 
@@ -29,8 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Allow CORS preflight requests (OPTIONS) to pass through
         if ("OPTIONS".equalsIgnoreCase(method)) {
-            filterChain.doFilter(request, response);
-            return;
+            return OUTCOME_PUBLIC;
+        }
+
+        // Bootstrap works without a token; with one it also returns the caller's own vote
+        boolean optionalAuthentication = path.equals("/api/voting/bootstrap");
+        String authHeader = request.getHeader("Authorization");
+        if (optionalAuthentication && (authHeader == null || authHeader.trim().isEmpty())) {
+            return OUTCOME_PUBLIC;
         }
 
         // Allow login endpoint and public endpoints without authentication
@@ -39,16 +72,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             path.equals("/api/voting/current-week") ||
             path.equals("/api/voting/current-results") ||
             path.startsWith("/api/voting/week/") ||
+            path.startsWith("/api/voting/vote-status/") ||
             path.equals("/api/voting/past-weeks") ||
-            path.equals("/api/voting/all-weeks")) {
-            filterChain.doFilter(request, response);
-            return;
+            path.equals("/api/voting/all-weeks") ||
+            path.equals("/api/voting/export")) {
+            return OUTCOME_PUBLIC;
         }
 
-        // For protected endpoints (voting, reset), require authentication
-        if (path.equals("/api/voting/vote") || path.equals("/api/voting/reset-week")) {
-            String authHeader = request.getHeader("Authorization");
-
+        // For protected endpoints (voting, reset, cache statistics), require authentication
+        if (optionalAuthentication || path.equals("/api/voting/vote") || path.equals("/api/voting/reset-week") ||
+            path.equals("/api/voting/cache-stats")) {
             log.debug("Auth header present: {}", authHeader != null);
 
             if (authHeader == null || authHeader.trim().isEmpty()) {
@@ -56,7 +89,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\": \"No authentication token provided\"}");
-                return;
+                return OUTCOME_REJECTED;
             }
 
             String username = authService.validateTokenAndGetUsername(authHeader);
@@ -66,15 +99,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\": \"Invalid or expired token\"}");
-                return;
+                return OUTCOME_REJECTED;
             }
 
             log.debug("Authenticated user: {} for path: {}", username, path);
             // Store username in request attribute for use in controller
             request.setAttribute("username", username);
+            return OUTCOME_AUTHENTICATED;
         }
 
-        filterChain.doFilter(request, response);
+        return OUTCOME_PUBLIC;
     }
 }
-
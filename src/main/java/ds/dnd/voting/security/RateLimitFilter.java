@@ -0,0 +1,120 @@
+package ds.dnd.voting.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the API: per-client and global token buckets,
+ * with separate budgets for reads and writes (login, vote, reset).
+ * Rejections are answered with 429 before any database work happens.
+ * Clients are keyed by remote address; behind a proxy that address is only taken from X-Forwarded-For
+ * when the request came through a trusted proxy (server.tomcat.remoteip.internal-proxies).
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+    private final boolean enabled;
+
+    private final double readPerClientRate;
+    private final int readPerClientBurst;
+    private final double writePerClientRate;
+    private final int writePerClientBurst;
+
+    private final TokenBucket globalReadBucket;
+    private final TokenBucket globalWriteBucket;
+
+    // Bounded, so a flood of distinct addresses can't grow them without limit; idle clients expire
+    private final Cache<String, TokenBucket> clientReadBuckets;
+    private final Cache<String, TokenBucket> clientWriteBuckets;
+
+    public RateLimitFilter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.read.per-client-rate:20}") double readPerClientRate,
+            @Value("${app.rate-limit.read.per-client-burst:40}") int readPerClientBurst,
+            @Value("${app.rate-limit.read.global-rate:500}") double readGlobalRate,
+            @Value("${app.rate-limit.read.global-burst:1000}") int readGlobalBurst,
+            @Value("${app.rate-limit.write.per-client-rate:2}") double writePerClientRate,
+            @Value("${app.rate-limit.write.per-client-burst:5}") int writePerClientBurst,
+            @Value("${app.rate-limit.write.global-rate:50}") double writeGlobalRate,
+            @Value("${app.rate-limit.write.global-burst:100}") int writeGlobalBurst,
+            @Value("${app.rate-limit.max-clients:10000}") long maxClients) {
+        this.enabled = enabled;
+        this.readPerClientRate = readPerClientRate;
+        this.readPerClientBurst = readPerClientBurst;
+        this.writePerClientRate = writePerClientRate;
+        this.writePerClientBurst = writePerClientBurst;
+        this.globalReadBucket = new TokenBucket(readGlobalRate, readGlobalBurst);
+        this.globalWriteBucket = new TokenBucket(writeGlobalRate, writeGlobalBurst);
+        this.clientReadBuckets = newClientBuckets(maxClients);
+        this.clientWriteBuckets = newClientBuckets(maxClients);
+    }
+
+    private static Cache<String, TokenBucket> newClientBuckets(long maxClients) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Never throttle CORS preflight requests
+        if (!enabled || "OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = request.getRemoteAddr();
+        boolean write = isWrite(request);
+
+        TokenBucket clientBucket = write
+                ? clientWriteBuckets.get(client, c -> new TokenBucket(writePerClientRate, writePerClientBurst))
+                : clientReadBuckets.get(client, c -> new TokenBucket(readPerClientRate, readPerClientBurst));
+        TokenBucket globalBucket = write ? globalWriteBucket : globalReadBucket;
+
+        if (!clientBucket.tryAcquire()) {
+            reject(response, clientBucket, "Too many requests");
+            return;
+        }
+        if (!globalBucket.tryAcquire()) {
+            reject(response, globalBucket, "Server busy, try again shortly");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Logins and anything that isn't a GET count against the write budget
+     */
+    private static boolean isWrite(HttpServletRequest request) {
+        return !"GET".equalsIgnoreCase(request.getMethod()) && !"HEAD".equalsIgnoreCase(request.getMethod());
+    }
+
+    private static void reject(HttpServletResponse response, TokenBucket bucket, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable()) + 1);
+
+        log.debug("Rejected request: {}", message);
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+}
@@ -0,0 +1,53 @@
+package ds.dnd.voting.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket (implemented as a generic cell rate algorithm).
+ * The whole state is one "theoretical arrival time", updated with compare-and-set,
+ * so concurrent callers never block each other.
+ */
+class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param tokensPerSecond sustained rate
+     * @param burst           number of requests that may arrive at once
+     */
+    TokenBucket(double tokensPerSecond, int burst) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take one token if available; never waits
+     */
+    boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until one more token will be available (0 if one is available now)
+     */
+    long nanosUntilAvailable() {
+        long wait = theoreticalArrival.get() + nanosPerToken - burstNanos - System.nanoTime();
+        return Math.max(0, wait);
+    }
+}
@@ -0,0 +1,104 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.AvailabilityDTO;
+import ds.dnd.voting.dto.SlotCoverageDTO;
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.repositories.TimeSlotRepository;
+import ds.dnd.voting.repositories.VoteRepository;
+import ds.dnd.voting.repositories.WeekVersionRepository;
+import ds.dnd.voting.services.WeekAvailability.SlotCoverage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-week index of which slots each voter can attend, for availability queries
+ * over a set of players. Built from the database on first use and kept up to date by
+ * the votes submitted on this instance; dropped when the cache coherence watcher sees
+ * changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndex {
+
+    public enum AvailabilityMode {
+        ALL,  // Slots every player can attend
+        ANY,  // Slots at least one player can attend
+        TOP   // The k slots most players can attend
+    }
+
+    private final VoteRepository voteRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final WeekVersionRepository weekVersionRepository;
+
+    private final Map<Long, WeekAvailability> weeks = new ConcurrentHashMap<>();
+
+    /**
+     * Answer an availability query; players may be empty (all voters)
+     * Returns null if the week doesn't exist
+     */
+    public AvailabilityDTO query(Long weekId, AvailabilityMode mode, List<String> players, int k) {
+        WeekAvailability week = loadedWeek(weekId);
+        if (week.isEmpty()) {
+            weeks.remove(weekId, week);
+            return null;
+        }
+
+        List<SlotCoverage> coverage = switch (mode) {
+            case ALL -> week.intersection(players);
+            case ANY -> week.union(players);
+            case TOP -> week.topCoverage(players, k);
+        };
+        List<SlotCoverageDTO> slots = coverage.stream()
+                .map(slot -> {
+                    TimeSlotDTO timeSlot = week.slot(slot.slot());
+                    return new SlotCoverageDTO(timeSlot.getId(), timeSlot.getDatetime(), slot.available(), slot.preferred());
+                })
+                .toList();
+
+        return new AvailabilityDTO(weekId, mode.name(), players, week.unknownVoters(players), slots);
+    }
+
+    /**
+     * Apply a committed vote of this instance; the version is the week version of the change
+     */
+    public void update(Long weekId, long version, String voterName, Collection<Long> timeSlotIds, Collection<Long> preferredTimeSlotIds) {
+        weeks.computeIfAbsent(weekId, id -> new WeekAvailability())
+                .update(version, voterName, timeSlotIds, preferredTimeSlotIds);
+    }
+
+    /**
+     * Drop a week's index if the given committed version contains changes it has not seen
+     */
+    public void onVersion(Long weekId, long version) {
+        WeekAvailability week = weeks.get(weekId);
+        if (week != null && week.isBehind(version)) {
+            weeks.remove(weekId, week);
+            log.debug("Dropped availability index of week {}, behind version {}", weekId, version);
+        }
+    }
+
+    public void invalidateAll() {
+        weeks.clear();
+    }
+
+    private WeekAvailability loadedWeek(Long weekId) {
+        WeekAvailability week = weeks.computeIfAbsent(weekId, id -> new WeekAvailability());
+        if (!week.isLoaded()) {
+            // Read the version first: the rows read afterwards contain at least the changes up to it
+            long version = weekVersionRepository.findVersion(weekId).orElse(0L);
+            List<TimeSlotDTO> slots = timeSlotRepository.findByVotingWeekIdOrderByDatetime(weekId).stream()
+                    .map(timeSlot -> new TimeSlotDTO(timeSlot.getId(), timeSlot.getDatetime()))
+                    .toList();
+            week.load(version, slots, voteRepository.findSelectionRowsByVotingWeek(weekId));
+            log.debug("Built availability index of week {} at version {}", weekId, version);
+        }
+        return week;
+    }
+}
@@ -0,0 +1,71 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.WeekVersionDTO;
+import ds.dnd.voting.repositories.WeekVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps this instance's in-process caches coherent with writes made by other instances.
+ * Every vote and every new week bumps the week_version row in the writing transaction; this watcher
+ * polls the active week's version and drops local caches when it moved.
+ * <p>
+ * Staleness bound: a committed write becomes visible on every other instance within
+ * app.coherence.poll-interval-ms plus the duration of one poll (a single indexed lookup).
+ * Writes handled by this instance invalidate its caches immediately after commit.
+ */
+@Component
+@Slf4j
+public class CacheCoherenceWatcher {
+
+    private final WeekVersionRepository weekVersionRepository;
+    private final ResultsResponseCache resultsResponseCache;
+    private final EntityCacheService entityCacheService;
+    private final AvailabilityIndex availabilityIndex;
+    private final boolean enabled;
+
+    private WeekVersionDTO lastSeen;
+
+    public CacheCoherenceWatcher(
+            WeekVersionRepository weekVersionRepository,
+            ResultsResponseCache resultsResponseCache,
+            EntityCacheService entityCacheService,
+            AvailabilityIndex availabilityIndex,
+            @Value("${app.coherence.enabled:true}") boolean enabled) {
+        this.weekVersionRepository = weekVersionRepository;
+        this.resultsResponseCache = resultsResponseCache;
+        this.entityCacheService = entityCacheService;
+        this.availabilityIndex = availabilityIndex;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${app.coherence.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        Optional<WeekVersionDTO> current = weekVersionRepository.findActiveWeekVersion();
+        if (current.isEmpty() || current.get().equals(lastSeen)) {
+            return;
+        }
+
+        WeekVersionDTO seen = current.get();
+        if (lastSeen == null || !Objects.equals(lastSeen.getWeekId(), seen.getWeekId())) {
+            // The active week changed (possibly rolled over elsewhere)
+            entityCacheService.evictVotingWeeks();
+            resultsResponseCache.invalidateAll();
+            availabilityIndex.invalidateAll();
+        } else {
+            resultsResponseCache.invalidate(seen.getWeekId());
+            // Kept if every change up to this version was applied locally
+            availabilityIndex.onVersion(seen.getWeekId(), seen.getVersion());
+        }
+        log.debug("Active week {} is at version {}, local caches invalidated", seen.getWeekId(), seen.getVersion());
+        lastSeen = seen;
+    }
+}
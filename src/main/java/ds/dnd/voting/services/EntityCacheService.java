@@ -0,0 +1,66 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.CacheRegionStatsDTO;
+import ds.dnd.voting.model.VotingWeek;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Invalidation and hit-rate metrics for the Hibernate second-level cache
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Drop all cached voting weeks and their timeslot collections.
+     * Called whenever the active week changes; timeslot entities themselves never change and stay cached.
+     */
+    public void evictVotingWeeks() {
+        entityManagerFactory.getCache().evict(VotingWeek.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictCollectionData(VotingWeek.class.getName() + ".timeSlots");
+        log.debug("Evicted voting weeks from second-level cache");
+    }
+
+    /**
+     * Per-region hit/miss counters since startup
+     */
+    public List<CacheRegionStatsDTO> getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+                    if (regionStats == null) {
+                        return null; // not an entity/collection region
+                    }
+                    long hits = regionStats.getHitCount();
+                    long misses = regionStats.getMissCount();
+                    long lookups = hits + misses;
+                    return new CacheRegionStatsDTO(
+                            region,
+                            hits,
+                            misses,
+                            regionStats.getPutCount(),
+                            regionStats.getElementCountInMemory(),
+                            lookups > 0 ? (double) hits / lookups : 0.0
+                    );
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,177 @@
+package ds.dnd.voting.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ds.dnd.voting.dto.CompactSlotDTO;
+import ds.dnd.voting.dto.CompactVoteDTO;
+import ds.dnd.voting.dto.CompactWeekResultDTO;
+import ds.dnd.voting.dto.TimeSlotStatsDTO;
+import ds.dnd.voting.dto.WeekResultDTO;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.cfg.EnumFeature;
+import tools.jackson.databind.cfg.MapperBuilder;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes week results in the format negotiated from the Accept header
+ */
+@Component
+public class ResultEncoder {
+
+    public enum ResultFormat {
+        JSON(MediaType.APPLICATION_JSON, true),
+        COMPACT_JSON(MediaType.parseMediaType("application/vnd.dnd.compact+json"), true),
+        CBOR(MediaType.APPLICATION_CBOR, false),
+        SMILE(MediaType.parseMediaType("application/x-jackson-smile"), false);
+
+        private final MediaType mediaType;
+        private final boolean textual;
+
+        ResultFormat(MediaType mediaType, boolean textual) {
+            this.mediaType = mediaType;
+            this.textual = textual;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Whether gzip is worth it; binary formats are already compact
+         */
+        public boolean isTextual() {
+            return textual;
+        }
+    }
+
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final SmileMapper smileMapper;
+
+    public ResultEncoder(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = withSettingsOf(jsonMapper, CBORMapper.builder());
+        this.smileMapper = withSettingsOf(jsonMapper, SmileMapper.builder());
+    }
+
+    /**
+     * Build a binary format's mapper with the application's modules, features and inclusion,
+     * so CBOR and Smile clients decode the same document JSON clients get
+     */
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M withSettingsOf(JsonMapper source, B builder) {
+        builder.addModules(source.registeredModules());
+        for (MapperFeature feature : MapperFeature.values()) {
+            builder.configure(feature, source.isEnabled(feature));
+        }
+        for (SerializationFeature feature : SerializationFeature.values()) {
+            builder.configure(feature, source.isEnabled(feature));
+        }
+        for (DeserializationFeature feature : DeserializationFeature.values()) {
+            builder.configure(feature, source.isEnabled(feature));
+        }
+        for (DateTimeFeature feature : DateTimeFeature.values()) {
+            builder.configure(feature, source.isEnabled(feature));
+        }
+        for (EnumFeature feature : EnumFeature.values()) {
+            builder.configure(feature, source.isEnabled(feature));
+        }
+        JsonInclude.Value inclusion = source.serializationConfig().getDefaultPropertyInclusion();
+        return builder.changeDefaultPropertyInclusion(ignored -> inclusion).build();
+    }
+
+    /**
+     * Pick the format with the highest quality value that we support explicitly;
+     * wildcards, missing or unparseable headers get plain JSON. A quality of 0 means "not acceptable"
+     */
+    public static ResultFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return ResultFormat.JSON;
+        }
+
+        List<MediaType> requested;
+        try {
+            requested = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return ResultFormat.JSON;
+        }
+
+        ResultFormat best = ResultFormat.JSON;
+        double bestQuality = -1;
+        for (MediaType mediaType : requested) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype() || mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResultFormat format : ResultFormat.values()) {
+                if (format.getMediaType().isCompatibleWith(mediaType) && mediaType.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = mediaType.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+
+    public byte[] encode(WeekResultDTO result, ResultFormat format) {
+        Object body = format == ResultFormat.COMPACT_JSON ? toCompact(result) : result;
+        return mapperFor(format).writeValueAsBytes(body);
+    }
+
+    public byte[] encodeAll(List<WeekResultDTO> results, ResultFormat format) {
+        Object body = format == ResultFormat.COMPACT_JSON
+                ? results.stream().map(ResultEncoder::toCompact).toList()
+                : results;
+        return mapperFor(format).writeValueAsBytes(body);
+    }
+
+    private ObjectMapper mapperFor(ResultFormat format) {
+        return switch (format) {
+            case JSON, COMPACT_JSON -> jsonMapper;
+            case CBOR -> cborMapper;
+            case SMILE -> smileMapper;
+        };
+    }
+
+    /**
+     * Convert to the slot-index shape; slot order is the (datetime sorted) order of WeekResultDTO.timeSlots
+     */
+    static CompactWeekResultDTO toCompact(WeekResultDTO result) {
+        List<CompactSlotDTO> slots = new ArrayList<>();
+        Map<LocalDateTime, Integer> indexByDatetime = new HashMap<>();
+        Map<Long, Integer> indexById = new HashMap<>();
+
+        for (TimeSlotStatsDTO slot : result.getTimeSlots()) {
+            int index = slots.size();
+            slots.add(new CompactSlotDTO(slot.getTimeSlotId(), slot.getDatetime(), slot.getVoteCount(), slot.getPreferredVoteCount()));
+            indexByDatetime.putIfAbsent(slot.getDatetime(), index);
+            indexById.put(slot.getTimeSlotId(), index);
+        }
+
+        List<Integer> winners = result.getWinnerTimeSlots().stream()
+                .map(winner -> indexById.get(winner.getTimeSlotId()))
+                .toList();
+
+        List<CompactVoteDTO> votes = result.getVotes().stream()
+                .map(vote -> new CompactVoteDTO(
+                        vote.getVoterName(),
+                        vote.getVotedTimeslots().stream().map(indexByDatetime::get).toList(),
+                        vote.getPreferredTimeslots().stream().map(indexByDatetime::get).toList()
+                ))
+                .toList();
+
+        return new CompactWeekResultDTO(result.getWeekId(), result.getDeadline(), slots, winners, votes);
+    }
+}
@@ -0,0 +1,190 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.services.ResultEncoder.ResultFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of already-encoded week results (per negotiated format, plus a gzip variant for textual formats),
+ * keyed by week, format and version.
+ * Entries are dropped when a week's results change; closed weeks are evicted in LRU order once the
+ * memory budget is exceeded. Versions are only tracked for weeks with cached entries or an encode in flight,
+ * so requests for unknown weeks leave nothing behind.
+ */
+@Component
+@Slf4j
+public class ResultsResponseCache {
+
+    /**
+     * Encoded results for one week at a given version; gzip is null for binary formats
+     */
+    public record EncodedResult(long version, ResultFormat format, byte[] body, byte[] gzip, boolean pinned) {
+        long size() {
+            return body.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private record CacheKey(Long weekId, ResultFormat format) {
+    }
+
+    /**
+     * Invalidation counter of a week, plus what keeps it tracked: cached entries and encodes in flight
+     */
+    private static final class WeekState {
+        private long version;
+        private int entryCount;
+        private int loading;
+    }
+
+    private final ResultEncoder resultEncoder;
+    private final long maxBytes;
+
+    // All state below is guarded by "this"
+    private final Map<Long, WeekState> weeks = new HashMap<>();
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<CacheKey, EncodedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ResultsResponseCache(
+            ResultEncoder resultEncoder,
+            @Value("${app.voting.results-cache.max-bytes:8388608}") long maxBytes) { // Default 8 MB
+        this.resultEncoder = resultEncoder;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Return the encoded results for a week, encoding them with the loader on a miss.
+     * Pinned entries (the active week) are never evicted for space.
+     * Returns null if the loader returns null (week doesn't exist).
+     */
+    public EncodedResult getOrEncode(Long weekId, ResultFormat format, boolean pinned, Supplier<WeekResultDTO> loader) {
+        CacheKey key = new CacheKey(weekId, format);
+        WeekState state;
+        long version;
+        synchronized (this) {
+            EncodedResult cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            state = weeks.computeIfAbsent(weekId, id -> new WeekState());
+            state.loading++;
+            version = state.version;
+        }
+
+        // Encode outside the lock; the version check below discards results that went stale meanwhile
+        EncodedResult encoded = null;
+        try {
+            WeekResultDTO result = loader.get();
+            if (result != null) {
+                byte[] body = resultEncoder.encode(result, format);
+                encoded = new EncodedResult(version, format, body, format.isTextual() ? gzip(body) : null, pinned);
+            }
+        } finally {
+            synchronized (this) {
+                state.loading--;
+                if (encoded != null && state.version == version && encoded.size() <= maxBytes) {
+                    EncodedResult previous = entries.put(key, encoded);
+                    if (previous != null) {
+                        totalBytes -= previous.size();
+                    } else {
+                        state.entryCount++;
+                    }
+                    totalBytes += encoded.size();
+                    evictIfOverBudget();
+                }
+                untrackIfUnused(weekId, state);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Drop the cached results of a week in all formats, e.g. after a vote was submitted
+     */
+    public synchronized void invalidate(Long weekId) {
+        WeekState state = weeks.get(weekId);
+        if (state == null) {
+            return; // nothing cached or being encoded
+        }
+        state.version++;
+        Iterator<Map.Entry<CacheKey, EncodedResult>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CacheKey, EncodedResult> entry = iterator.next();
+            if (entry.getKey().weekId().equals(weekId)) {
+                iterator.remove();
+                totalBytes -= entry.getValue().size();
+            }
+        }
+        state.entryCount = 0;
+        untrackIfUnused(weekId, state);
+    }
+
+    /**
+     * Drop all cached results, e.g. after the active week changed
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        totalBytes = 0;
+        Iterator<WeekState> iterator = weeks.values().iterator();
+        while (iterator.hasNext()) {
+            WeekState state = iterator.next();
+            state.version++;
+            state.entryCount = 0;
+            if (state.loading == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Number of weeks whose version is tracked
+     */
+    synchronized int trackedWeekCount() {
+        return weeks.size();
+    }
+
+    private void untrackIfUnused(Long weekId, WeekState state) {
+        if (state.entryCount == 0 && state.loading == 0) {
+            weeks.remove(weekId);
+        }
+    }
+
+    private void evictIfOverBudget() {
+        Iterator<Map.Entry<CacheKey, EncodedResult>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<CacheKey, EncodedResult> eldest = iterator.next();
+            if (eldest.getValue().pinned()) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().size();
+            WeekState state = weeks.get(eldest.getKey().weekId());
+            state.entryCount--;
+            untrackIfUnused(eldest.getKey().weekId(), state);
+            log.debug("Evicted {} results of week {} from response cache", eldest.getKey().format(), eldest.getKey().weekId());
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,168 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.VoteExportRowDTO;
+import ds.dnd.voting.repositories.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoteExportService {
+
+    /**
+     * Used when no lower/upper bound is given; kept inside the range every supported database accepts
+     */
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final VoteRepository voteRepository;
+
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    /**
+     * Stream the voting history as one row per (week, voter, slot, preferred) to the given output.
+     * Rows are read from a forward-only cursor and written immediately, so memory use does not
+     * depend on the size of the history. The output stream is flushed but not closed.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) {
+        LocalDate lower = from != null ? from : EARLIEST;
+        LocalDate upper = to != null ? to : LATEST;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long rows = 0;
+
+        try (Stream<VoteExportRowDTO> stream = voteRepository.streamExportRows(lower, upper)) {
+            if (format == ExportFormat.CSV) {
+                writer.write("week_id,deadline,voter_name,timeslot_id,datetime,preferred\n");
+            }
+
+            Iterator<VoteExportRowDTO> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                VoteExportRowDTO row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writeJsonRow(writer, row);
+                }
+                rows++;
+            }
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write vote export", e);
+        }
+
+        log.info("Exported {} vote rows as {} for deadlines {} to {}", rows, format, lower, upper);
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, VoteExportRowDTO row) throws IOException {
+        writer.write(String.valueOf(row.getWeekId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDeadline()));
+        writer.write(',');
+        writer.write(csvEscape(row.getVoterName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getTimeSlotId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDatetime()));
+        writer.write(',');
+        writer.write(String.valueOf(Boolean.TRUE.equals(row.getPreferred())));
+        writer.write('\n');
+    }
+
+    private void writeJsonRow(Writer writer, VoteExportRowDTO row) throws IOException {
+        writer.write("{\"weekId\":");
+        writer.write(String.valueOf(row.getWeekId()));
+        writer.write(",\"deadline\":\"");
+        writer.write(String.valueOf(row.getDeadline()));
+        writer.write("\",\"voterName\":");
+        writer.write(jsonEscape(row.getVoterName()));
+        writer.write(",\"timeSlotId\":");
+        writer.write(String.valueOf(row.getTimeSlotId()));
+        writer.write(",\"datetime\":\"");
+        writer.write(String.valueOf(row.getDatetime()));
+        writer.write("\",\"preferred\":");
+        writer.write(String.valueOf(Boolean.TRUE.equals(row.getPreferred())));
+        writer.write("}\n");
+    }
+
+    /**
+     * Quote a CSV field if it contains a separator, quote or line break (RFC 4180)
+     */
+    static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Encode a string as a JSON string literal
+     */
+    static String jsonEscape(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+}
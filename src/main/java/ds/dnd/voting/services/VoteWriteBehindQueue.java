@@ -0,0 +1,244 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.VoteAckDTO;
+import ds.dnd.voting.dto.VoteSubmissionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind pipeline for votes (app.voting.pipeline.enabled).
+ * Validated submissions are queued per voter (last write wins) and saved by a single writer thread
+ * in batched transactions every few milliseconds. Each submission gets a sequence number that can be
+ * polled; on a clean shutdown the queue is drained before the application context closes.
+ * Queue and outcomes live in this instance only: with several instances behind a load balancer, status
+ * polls must reach the instance that accepted the vote (sticky sessions).
+ */
+@Component
+@Slf4j
+public class VoteWriteBehindQueue implements SmartLifecycle {
+
+    static final int MAX_REMEMBERED_OUTCOMES = 1000;
+
+    private final VotingService votingService;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private final Map<String, VoteSubmissionDTO> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+
+    // All submissions with a sequence up to this value were written (or superseded), unless they failed
+    private volatile long savedUpTo;
+
+    // Most recent failures and superseded submissions (sequence of the one that replaced them), oldest first;
+    // a sequence up to the highest forgotten one has an unknown outcome. All guarded by "failures"
+    private final LinkedHashMap<Long, String> failures = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, Long> supersededBy = new LinkedHashMap<>();
+    private long forgottenUpTo;
+
+    private ScheduledExecutorService writer;
+    private volatile boolean running;
+
+    public VoteWriteBehindQueue(
+            VotingService votingService,
+            @Value("${app.voting.pipeline.enabled:false}") boolean enabled,
+            @Value("${app.voting.pipeline.capacity:10000}") int capacity,
+            @Value("${app.voting.pipeline.batch-size:200}") int batchSize,
+            @Value("${app.voting.pipeline.flush-interval-ms:5}") long flushIntervalMillis) {
+        this.votingService = votingService;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue an already validated vote, replacing any queued vote of the same voter
+     *
+     * @return the sequence number of this submission
+     * @throws IllegalArgumentException if the selection is missing or contains null ids
+     * @throws IllegalStateException if the queue is full or shutting down
+     */
+    public long enqueue(String voterName, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
+        if (timeSlotIds == null || timeSlotIds.stream().anyMatch(Objects::isNull)
+                || (preferredTimeSlotIds != null && preferredTimeSlotIds.stream().anyMatch(Objects::isNull))) {
+            throw new IllegalArgumentException("Timeslot ids must not be null");
+        }
+        drainLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Vote pipeline is not accepting submissions");
+            }
+            if (pending.size() >= capacity && !pending.containsKey(voterName)) {
+                throw new IllegalStateException("Vote pipeline is full");
+            }
+            long sequence = lastSequence.incrementAndGet();
+            VoteSubmissionDTO replaced = pending.put(voterName, new VoteSubmissionDTO(sequence, voterName,
+                    List.copyOf(timeSlotIds), preferredTimeSlotIds != null ? List.copyOf(preferredTimeSlotIds) : List.of()));
+            if (replaced != null) {
+                remember(supersededBy, replaced.getSequence(), sequence);
+            }
+            return sequence;
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Status of a submission by sequence number, or null if the number was never handed out
+     * A superseded submission reports the outcome of the submission that replaced it
+     */
+    public VoteAckDTO getStatus(long sequence) {
+        if (sequence <= 0 || sequence > lastSequence.get()) {
+            return null;
+        }
+        // Read before the failures: a flush records its failures before it advances savedUpTo
+        long saved = savedUpTo;
+        long effective = sequence;
+        String failure;
+        long forgotten;
+        synchronized (failures) {
+            // Replacements are recorded in the order they happen, so the chain ends
+            Long replacement;
+            while ((replacement = supersededBy.get(effective)) != null) {
+                effective = replacement;
+            }
+            failure = failures.get(effective);
+            forgotten = forgottenUpTo;
+        }
+
+        if (failure != null) {
+            return new VoteAckDTO(sequence, "FAILED", failure);
+        }
+        if (effective > saved) {
+            return new VoteAckDTO(sequence, "PENDING", null);
+        }
+        if (effective <= forgotten) {
+            return new VoteAckDTO(sequence, "UNKNOWN", "Too old, check your vote in the current results");
+        }
+        return new VoteAckDTO(sequence, "SAVED", null);
+    }
+
+    /**
+     * Save everything queued so far; called by the writer thread and on shutdown
+     */
+    synchronized void flush() {
+        List<VoteSubmissionDTO> drained;
+        long upTo;
+
+        // Exclusive only for the snapshot: every sequence up to "upTo" is now either drained or superseded
+        drainLock.writeLock().lock();
+        try {
+            upTo = lastSequence.get();
+            drained = new ArrayList<>(pending.values());
+            pending.clear();
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+
+        // In submission order, so failures are remembered (and forgotten) oldest first
+        drained.sort(Comparator.comparingLong(VoteSubmissionDTO::getSequence));
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<VoteSubmissionDTO> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                votingService.applyVoteBatch(batch).forEach((sequence, message) -> remember(failures, sequence, message));
+            } catch (RuntimeException e) {
+                log.error("Failed to save batch of {} queued votes", batch.size(), e);
+                batch.forEach(submission -> remember(failures, submission.getSequence(), "Could not be saved"));
+            }
+        }
+        savedUpTo = upTo;
+    }
+
+    /**
+     * Record a failure or replacement, forgetting the oldest one of that kind beyond the limit
+     */
+    private <V> void remember(LinkedHashMap<Long, V> outcomes, long sequence, V outcome) {
+        synchronized (failures) {
+            outcomes.put(sequence, outcome);
+            if (outcomes.size() > MAX_REMEMBERED_OUTCOMES) {
+                Iterator<Long> eldest = outcomes.keySet().iterator();
+                forgottenUpTo = Math.max(forgottenUpTo, eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-writer");
+            thread.setDaemon(false);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Vote write-behind pipeline started (batch size {}, flush every {} ms)", batchSize, flushIntervalMillis);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Drain whatever arrived after the last scheduled flush
+        flush();
+        log.info("Vote write-behind pipeline stopped, all queued votes saved up to #{}", savedUpTo);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server (which stops at a higher phase), so no submissions arrive while draining
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushSafely() {
+        try {
+            if (!pending.isEmpty()) {
+                flush();
+            }
+        } catch (RuntimeException e) {
+            log.error("Vote writer flush failed", e);
+        }
+    }
+}
@@ -1,19 +1,38 @@
 package ds.dnd.voting.services;
 
+import ds.dnd.voting.dto.BootstrapDTO;
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.dto.TimeSlotDTO;
 import ds.dnd.voting.dto.TimeSlotStatsDTO;
 import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.VoteSubmissionDTO;
+import ds.dnd.voting.dto.WeekChangesDTO;
 import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.dto.WeekSlotRowDTO;
+import ds.dnd.voting.dto.WeekVersionDTO;
 import ds.dnd.voting.model.TimeSlot;
 import ds.dnd.voting.model.Vote;
+import ds.dnd.voting.model.VoteChange;
+import ds.dnd.voting.model.VoteChange.ChangeType;
 import ds.dnd.voting.model.VotingWeek;
+import ds.dnd.voting.model.WeekVersion;
+import ds.dnd.voting.monitoring.BuildWeekResultEvent;
+import ds.dnd.voting.monitoring.CreateWeekEvent;
+import ds.dnd.voting.monitoring.QueryCounter;
+import ds.dnd.voting.monitoring.SubmitVoteEvent;
 import ds.dnd.voting.repositories.TimeSlotRepository;
+import ds.dnd.voting.repositories.VoteChangeRepository;
 import ds.dnd.voting.repositories.VoteRepository;
 import ds.dnd.voting.repositories.VotingWeekRepository;
+import ds.dnd.voting.repositories.WeekRolloverClaimRepository;
+import ds.dnd.voting.repositories.WeekVersionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -28,16 +47,57 @@ import java.util.stream.Collectors;
 @Slf4j
 public class VotingService {
 
+    /**
+     * Above this many changes since the client's version a full snapshot is cheaper than a delta
+     */
+    private static final int MAX_DELTA_CHANGES = 200;
+
     private final VotingWeekRepository votingWeekRepository;
     private final TimeSlotRepository timeSlotRepository;
     private final VoteRepository voteRepository;
+    private final VoteChangeRepository voteChangeRepository;
+    private final WeekVersionRepository weekVersionRepository;
+    private final WeekRolloverClaimRepository weekRolloverClaimRepository;
+    private final EntityCacheService entityCacheService;
+    private final ResultsResponseCache resultsResponseCache;
+    private final AvailabilityIndex availabilityIndex;
 
     /**
-     * Get the current active voting week
+     * Get the current active voting week, creating it if needed
+     * Only for methods that already run in a write transaction, so the week is created atomically;
+     * everything else goes through ensureCurrentWeek
      */
-    public VotingWeek getCurrentWeek() {
+    private VotingWeek getCurrentWeek() {
         return votingWeekRepository.findByActiveTrue()
-                .orElseGet(this::createNewWeek);
+                .orElseGet(() -> createNewWeek(today()));
+    }
+
+    /**
+     * Get the active voting week, which must already exist (see ensureCurrentWeek)
+     */
+    private VotingWeek getActiveWeek() {
+        return votingWeekRepository.findByActiveTrue()
+                .orElseThrow(() -> new RuntimeException("No active voting week"));
+    }
+
+    /**
+     * Get the current active voting week as a read model
+     * Built from a single projection query, so no entity (or lazy collection) leaves the service
+     * Returns null if there is no active week yet (see ensureCurrentWeek)
+     */
+    public CurrentWeekDTO getCurrentWeekView() {
+        List<WeekSlotRowDTO> rows = votingWeekRepository.findActiveWeekSlotRows();
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        WeekSlotRowDTO first = rows.get(0);
+        List<TimeSlotDTO> timeSlots = rows.stream()
+                .filter(row -> row.getTimeSlotId() != null)
+                .map(row -> new TimeSlotDTO(row.getTimeSlotId(), row.getDatetime()))
+                .toList();
+
+        return new CurrentWeekDTO(first.getWeekId(), first.getDeadline(), true, timeSlots);
     }
 
     /**
@@ -58,36 +118,94 @@ public class VotingService {
      */
     @Transactional(readOnly = true)
     public WeekResultDTO getCurrentWeekResults() {
-        VotingWeek currentWeek = getCurrentWeek();
+        VotingWeek currentWeek = getActiveWeek();
         return buildWeekResultDTO(currentWeek);
     }
 
+    /**
+     * Make sure there is an active week, creating it if needed
+     * The only way to create the week lazily from outside a write transaction; call it before anything
+     * that reads the current week, since those can't create it themselves
+     *
+     * @return id of the active week
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent call created the week first
+     */
+    @Transactional
+    public Long ensureCurrentWeek() {
+        return getCurrentWeek().getId();
+    }
+
+    /**
+     * Get the current week, its results and the user's own vote (if any) from one consistent snapshot
+     * Expects an active week (see ensureCurrentWeek)
+     *
+     * @param voterName the logged-in user, or null
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BootstrapDTO getBootstrap(String voterName) {
+        VotingWeek currentWeek = getActiveWeek();
+        long version = weekVersionRepository.findVersion(currentWeek.getId())
+                .orElseThrow(() -> new RuntimeException("Voting week " + currentWeek.getId() + " has no version"));
+
+        VoteResultDTO myVote = null;
+        if (voterName != null) {
+            myVote = voteRepository.findByVoterNameAndVotingWeek(voterName, currentWeek.getId())
+                    .filter(vote -> !vote.getTimeslots().isEmpty())
+                    .map(VotingService::toVoteResultDTO)
+                    .orElse(null);
+        }
+
+        return new BootstrapDTO(toCurrentWeekDTO(currentWeek), buildWeekResultDTO(currentWeek), myVote, version);
+    }
+
+    /**
+     * The active week and its version in one cheap query, e.g. for revalidating a bootstrap response
+     */
+    public Optional<WeekVersionDTO> getCurrentWeekVersion() {
+        return weekVersionRepository.findActiveWeekVersion();
+    }
+
     /**
      * Build a WeekResultDTO from a VotingWeek
      * Contains vote results, timeslot statistics, and winner determination
      */
     private WeekResultDTO buildWeekResultDTO(VotingWeek week) {
+        BuildWeekResultEvent event = new BuildWeekResultEvent();
+        event.begin();
+        long queriesBefore = QueryCounter.current();
+
         List<Vote> votes = voteRepository.findVotesByVotingWeek(week.getId());
 
         // Create vote results showing who voted for what
         List<VoteResultDTO> voteResults = votes.stream()
-                .map(vote -> new VoteResultDTO(
-                        vote.getVoterName(),
-                        vote.getTimeslots().stream()
-                                .map(TimeSlot::getDatetime)
-                                .sorted()
-                                .collect(Collectors.toList()),
-                        vote.getPreferredTimeSlots() != null ?
-                                vote.getPreferredTimeSlots().stream()
-                                        .map(TimeSlot::getDatetime)
-                                        .sorted()
-                                        .collect(Collectors.toList()) :
-                                new ArrayList<>()
-                ))
+                .map(VotingService::toVoteResultDTO)
                 .toList();
 
-        // Calculate statistics for each timeslot
-        List<TimeSlotStatsDTO> timeSlotStats = week.getTimeSlots().stream()
+        List<TimeSlotStatsDTO> timeSlotStats = buildTimeSlotStats(week);
+        List<TimeSlotStatsDTO> winners = determineWinners(timeSlotStats);
+
+        WeekResultDTO result = new WeekResultDTO();
+        result.setWeekId(week.getId());
+        result.setDeadline(week.getDeadline());
+        result.setTimeSlots(timeSlotStats);
+        result.setVotes(voteResults);
+        result.setWinnerTimeSlots(winners);
+
+        if (event.shouldCommit()) {
+            event.weekId = week.getId();
+            event.slotCount = timeSlotStats.size();
+            event.voteCount = voteResults.size();
+            event.queryCount = (int) (QueryCounter.current() - queriesBefore);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Calculate statistics for each timeslot of a week, sorted by datetime
+     */
+    private List<TimeSlotStatsDTO> buildTimeSlotStats(VotingWeek week) {
+        return week.getTimeSlots().stream()
                 .map(timeSlot -> {
                     int voteCount = timeSlotRepository
                             .countVotesByTimeSlotId(timeSlot.getId())
@@ -107,8 +225,12 @@ public class VotingService {
                 })
                 .sorted(Comparator.comparing(TimeSlotStatsDTO::getDatetime))
                 .toList();
+    }
 
-        // Determine winners based on weighted vote count (all timeslots with max votes win)
+    /**
+     * Determine winners based on weighted vote count (all timeslots with max votes win) and mark them
+     */
+    private static List<TimeSlotStatsDTO> determineWinners(List<TimeSlotStatsDTO> timeSlotStats) {
         int maxVotes = timeSlotStats.stream()
                 .mapToInt(TimeSlotStatsDTO::getVoteCount)
                 .max()
@@ -135,15 +257,91 @@ public class VotingService {
         }
 
         winners.forEach(ts -> ts.setWinner(true));
+        return winners;
+    }
 
-        WeekResultDTO result = new WeekResultDTO();
-        result.setWeekId(week.getId());
-        result.setDeadline(week.getDeadline());
-        result.setTimeSlots(timeSlotStats);
-        result.setVotes(voteResults);
-        result.setWinnerTimeSlots(winners);
+    /**
+     * Get the changes to a week's results since the given version
+     * Contains the current vote of every voter that changed since then, voters whose vote was removed,
+     * and the updated timeslot statistics. Falls back to a full snapshot if the change log no longer
+     * reaches back to that version or a snapshot would be smaller.
+     * Returns null if the week doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public WeekChangesDTO getWeekChanges(Long weekId, long since) {
+        Optional<VotingWeek> weekOpt = votingWeekRepository.findById(weekId);
+        if (weekOpt.isEmpty()) {
+            return null;
+        }
+        VotingWeek week = weekOpt.get();
+        long version = weekVersionRepository.findVersion(weekId).orElse(0L);
 
-        return result;
+        WeekChangesDTO changes = new WeekChangesDTO(weekId, version, false, null,
+                new ArrayList<>(), new ArrayList<>(), List.of(), List.of());
+        if (since == version) {
+            return changes; // Nothing changed, the client's copy is current
+        }
+
+        // The log must contain every version after "since"
+        boolean logCoversVersion = since >= 0 && since < version
+                && oldestLoggedVersion(weekId) <= since + 1;
+        if (!logCoversVersion || voteChangeRepository.countByVotingWeekIdAndVersionGreaterThan(weekId, since) > MAX_DELTA_CHANGES) {
+            changes.setSnapshot(true);
+            changes.setResults(buildWeekResultDTO(week));
+            return changes;
+        }
+
+        Set<String> changedVoters = new LinkedHashSet<>();
+        for (VoteChange change : voteChangeRepository.findByVotingWeekIdAndVersionGreaterThanOrderByVersion(weekId, since)) {
+            changedVoters.add(change.getVoterName());
+        }
+        for (String voterName : changedVoters) {
+            Optional<Vote> vote = voteRepository.findByVoterNameAndVotingWeek(voterName, weekId);
+            if (vote.isPresent() && !vote.get().getTimeslots().isEmpty()) {
+                changes.getChangedVotes().add(toVoteResultDTO(vote.get()));
+            } else {
+                changes.getRemovedVoters().add(voterName);
+            }
+        }
+
+        List<TimeSlotStatsDTO> timeSlotStats = buildTimeSlotStats(week);
+        changes.setWinnerTimeSlots(determineWinners(timeSlotStats));
+        changes.setTimeSlots(timeSlotStats);
+        return changes;
+    }
+
+    private long oldestLoggedVersion(Long weekId) {
+        return voteChangeRepository.findOldestVersion(weekId).orElse(Long.MAX_VALUE);
+    }
+
+    /**
+     * Map a vote to the voter's selected and preferred datetimes
+     */
+    public static VoteResultDTO toVoteResultDTO(Vote vote) {
+        return new VoteResultDTO(
+                vote.getVoterName(),
+                vote.getTimeslots().stream()
+                        .map(TimeSlot::getDatetime)
+                        .sorted()
+                        .collect(Collectors.toList()),
+                vote.getPreferredTimeSlots() != null ?
+                        vote.getPreferredTimeSlots().stream()
+                                .map(TimeSlot::getDatetime)
+                                .sorted()
+                                .collect(Collectors.toList()) :
+                        new ArrayList<>()
+        );
+    }
+
+    /**
+     * Map a week entity to the current-week read model
+     */
+    private static CurrentWeekDTO toCurrentWeekDTO(VotingWeek week) {
+        List<TimeSlotDTO> timeSlots = week.getTimeSlots().stream()
+                .map(ts -> new TimeSlotDTO(ts.getId(), ts.getDatetime()))
+                .sorted(Comparator.comparing(TimeSlotDTO::getDatetime))
+                .toList();
+        return new CurrentWeekDTO(week.getId(), week.getDeadline(), week.isActive(), timeSlots);
     }
 
     /**
@@ -154,7 +352,7 @@ public class VotingService {
         List<VotingWeek> allWeeks = votingWeekRepository.findAllByOrderByDeadlineDesc();
 
         return allWeeks.stream()
-                .filter(week -> week.getDeadline().isBefore(LocalDate.now()))
+                .filter(week -> week.getDeadline().isBefore(today()))
                 .map(week -> getWeekResults(week.getId()))
                 .filter(Objects::nonNull) // Filter out any null results
                 .collect(Collectors.toList());
@@ -177,29 +375,49 @@ public class VotingService {
      * Manually trigger a week reset (useful for testing)
      */
     @Transactional
-    public VotingWeek resetWeek() {
+    public CurrentWeekDTO resetWeek() {
         log.info("Manually triggering week reset");
-        return createNewWeek();
+        return toCurrentWeekDTO(createNewWeek(today()));
     }
+
     /**
-     * Scheduled task to reset the voting week every Monday at midnight
+     * Claim the weekly rollover of the given date and create the new week in the same transaction
+     * Scheduled via WeekRolloverService
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if that rollover was already claimed
      */
-    @Scheduled(cron = "0 0 0 * * MON", zone = "Europe/Berlin")
     @Transactional
-    public void scheduledWeekReset() {
-        log.info("Scheduled week reset triggered at {}", LocalDateTime.now());
-        createNewWeek();
+    public void rolloverWeek(LocalDate rolloverDate, String claimedBy) {
+        weekRolloverClaimRepository.claim(rolloverDate, claimedBy, LocalDateTime.now());
+        // Not the rollover date itself: a caught-up rollover starts the week that is current now
+        createNewWeek(today());
     }
 
     /**
-     * Create a new voting week with fresh timeslots
+     * Today's date in the zone of the weekly rollover, so weeks and their deadlines follow the schedule
+     * rather than the server's time zone
+     */
+    private static LocalDate today() {
+        return LocalDate.now(WeekRolloverService.ROLLOVER_ZONE);
+    }
+
+    /**
+     * Create a new voting week with fresh timeslots, with its deadline on the Sunday after the given date
      */
     @Transactional
-    protected VotingWeek createNewWeek() {
-        LocalDate today = LocalDate.now();
+    protected VotingWeek createNewWeek(LocalDate today) {
+        CreateWeekEvent event = new CreateWeekEvent();
+        event.begin();
+        long queriesBefore = QueryCounter.current();
 
-        // Deactivate existing active weeks
+        // Wait for votes in flight on the active week (see lockOpenWeek), then deactivate it
+        weekVersionRepository.incrementActiveWeekVersions();
         votingWeekRepository.deactivateAll();
+        entityCacheService.evictVotingWeeks();
+        afterCommit(() -> {
+            resultsResponseCache.invalidateAll();
+            availabilityIndex.invalidateAll();
+        });
 
         // Calculate deadline: next Sunday
         LocalDate nextSunday = today.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
@@ -211,6 +429,10 @@ public class VotingService {
         newWeek.setTimeSlots(new ArrayList<>());
 
         VotingWeek savedWeek = votingWeekRepository.save(newWeek);
+        weekVersionRepository.save(new WeekVersion(savedWeek.getId(), 0));
+
+        // Closed weeks don't change anymore, clients of those get a snapshot
+        voteChangeRepository.deleteAllExceptWeek(savedWeek.getId());
 
         // Generate timeslots for the upcoming week (Monday to Sunday after deadline)
         List<TimeSlot> timeSlots = generateTimeSlots(nextSunday, savedWeek);
@@ -220,6 +442,13 @@ public class VotingService {
 
         log.info("Created new voting week with ID {} and deadline {}", savedWeek.getId(), nextSunday);
 
+        if (event.shouldCommit()) {
+            event.weekId = savedWeek.getId();
+            event.slotCount = timeSlots.size();
+            event.queryCount = (int) (QueryCounter.current() - queriesBefore);
+            event.commit();
+        }
+
         return savedWeek;
     }
 
@@ -258,32 +487,79 @@ public class VotingService {
      */
     @Transactional
     public Vote submitVote(String voterName, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
-        VotingWeek currentWeek = getCurrentWeek();
-
-        // Verify all timeslots belong to current week
-        List<TimeSlot> timeSlots = timeSlotRepository.findAllById(timeSlotIds);
+        SubmitVoteEvent event = new SubmitVoteEvent();
+        event.begin();
+        long queriesBefore = QueryCounter.current();
+        VotingWeek currentWeek = null;
+        boolean succeeded = false;
+        try {
+            currentWeek = getCurrentWeek();
+            lockOpenWeek(currentWeek.getId());
+            Vote vote = applyVote(currentWeek, voterName, timeSlotIds, preferredTimeSlotIds);
+            succeeded = true;
+            return vote;
+        } finally {
+            if (event.shouldCommit()) {
+                event.weekId = currentWeek != null ? currentWeek.getId() : 0;
+                event.slotCount = timeSlotIds != null ? timeSlotIds.size() : 0;
+                event.preferredCount = preferredTimeSlotIds != null ? preferredTimeSlotIds.size() : 0;
+                event.queryCount = (int) (QueryCounter.current() - queriesBefore);
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
 
-        boolean allBelongToCurrentWeek = timeSlots.stream()
-                .allMatch(ts -> ts.getVotingWeek().getId().equals(currentWeek.getId()));
+    /**
+     * Validate a submission against the current week without saving it
+     * Used by the write-behind pipeline to reject invalid votes before they are queued
+     */
+    @Transactional(readOnly = true)
+    public void validateVote(List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
+        resolveSelection(getActiveWeek(), timeSlotIds, preferredTimeSlotIds);
+    }
 
-        if (!allBelongToCurrentWeek) {
-            throw new RuntimeException("Some timeslots do not belong to the current voting week");
+    /**
+     * Save a batch of queued submissions in a single transaction
+     * Submissions that no longer validate (e.g. the week was reset meanwhile) are skipped; if the week was
+     * closed, the whole batch is
+     *
+     * @return error message per sequence number of the skipped submissions
+     */
+    @Transactional
+    public Map<Long, String> applyVoteBatch(List<VoteSubmissionDTO> batch) {
+        VotingWeek currentWeek = getCurrentWeek();
+        Map<Long, String> failures = new HashMap<>();
+
+        try {
+            lockOpenWeek(currentWeek.getId());
+        } catch (RuntimeException e) {
+            log.warn("Dropped {} queued votes for week {}: {}", batch.size(), currentWeek.getId(), e.getMessage());
+            batch.forEach(submission -> failures.put(submission.getSequence(), e.getMessage()));
+            return failures;
         }
 
-        // Handle preferred timeslots
-        List<TimeSlot> preferredTimeSlots = new ArrayList<>();
-        if (preferredTimeSlotIds != null && !preferredTimeSlotIds.isEmpty()) {
-            // Verify all preferred timeslots are part of the selected timeslots
-            if (!timeSlotIds.containsAll(preferredTimeSlotIds)) {
-                throw new RuntimeException("All preferred timeslots must be among the selected timeslots");
-            }
-            preferredTimeSlots = timeSlotRepository.findAllById(preferredTimeSlotIds);
-
-            if (preferredTimeSlots.size() != preferredTimeSlotIds.size()) {
-                throw new RuntimeException("Some preferred timeslots not found");
+        for (VoteSubmissionDTO submission : batch) {
+            try {
+                applyVote(currentWeek, submission.getVoterName(), submission.getTimeSlotIds(), submission.getPreferredTimeSlotIds());
+            } catch (RuntimeException e) {
+                log.warn("Dropped queued vote #{} for {}: {}", submission.getSequence(), submission.getVoterName(), e.getMessage());
+                failures.put(submission.getSequence(), e.getMessage());
             }
         }
 
+        log.debug("Flushed {} queued votes for week {}", batch.size() - failures.size(), currentWeek.getId());
+        return failures;
+    }
+
+    /**
+     * Save one vote; the caller must hold the week's lock (see lockOpenWeek)
+     */
+    private Vote applyVote(VotingWeek currentWeek, String voterName, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
+        Selection selection = resolveSelection(currentWeek, timeSlotIds, preferredTimeSlotIds);
+        weekVersionRepository.incrementVersion(currentWeek.getId());
+        long version = weekVersionRepository.findVersion(currentWeek.getId()).orElseThrow();
+
         // Check if user has already voted for this week
         Optional<Vote> existingVote = voteRepository.findByVoterNameAndVotingWeek(voterName, currentWeek.getId());
 
@@ -292,20 +568,119 @@ public class VotingService {
             // Update existing vote
             vote = existingVote.get();
             vote.getTimeslots().clear();
-            vote.getTimeslots().addAll(timeSlots);
+            vote.getTimeslots().addAll(selection.timeSlots());
             if (vote.getPreferredTimeSlots() == null) {
                 vote.setPreferredTimeSlots(new ArrayList<>());
             }
             vote.getPreferredTimeSlots().clear();
-            vote.getPreferredTimeSlots().addAll(preferredTimeSlots);
+            vote.getPreferredTimeSlots().addAll(selection.preferredTimeSlots());
             log.info("Updated vote for {} with {} timeslots, preferred: {}", voterName, timeSlotIds.size(), preferredTimeSlotIds != null ? preferredTimeSlotIds.size() : 0);
         } else {
             // Create new vote
-            vote = new Vote(voterName, timeSlots, preferredTimeSlots);
+            vote = new Vote(voterName, selection.timeSlots(), selection.preferredTimeSlots());
+            vote.setVotingWeek(currentWeek);
             log.info("Created new vote for {} with {} timeslots, preferred: {}", voterName, timeSlotIds.size(), preferredTimeSlotIds != null ? preferredTimeSlotIds.size() : 0);
         }
 
-        return voteRepository.save(vote);
+        Vote saved = voteRepository.save(vote);
+        recordChange(currentWeek.getId(), version, voterName, selection.timeSlots().isEmpty() ? ChangeType.REMOVED : ChangeType.UPSERTED);
+        List<Long> selectedIds = selection.timeSlots().stream().map(TimeSlot::getId).toList();
+        List<Long> preferredIds = selection.preferredTimeSlots().stream().map(TimeSlot::getId).toList();
+        afterCommit(() -> {
+            resultsResponseCache.invalidate(currentWeek.getId());
+            availabilityIndex.update(currentWeek.getId(), version, voterName, selectedIds, preferredIds);
+        });
+        return saved;
+    }
+
+    /**
+     * Lock the week's version row and check the week is still open
+     * The row stays locked until commit, so votes of a week are serialized (and commit in version order),
+     * and a vote racing with createNewWeek either commits before the week is closed or sees it closed.
+     * Nothing is written if the week is closed.
+     */
+    private void lockOpenWeek(Long weekId) {
+        weekVersionRepository.lockVersion(weekId)
+                .orElseThrow(() -> new RuntimeException("Voting week " + weekId + " has no version"));
+        if (!votingWeekRepository.isActive(weekId)) {
+            throw new RuntimeException("This voting week has been closed, please reload and vote again");
+        }
+    }
+
+    /**
+     * Append a vote change to the week's log
+     */
+    private void recordChange(Long weekId, long version, String voterName, ChangeType changeType) {
+        voteChangeRepository.save(new VoteChange(weekId, version, voterName, changeType, LocalDateTime.now()));
+    }
+
+    /**
+     * Selected and preferred timeslots of a submission, resolved against a week
+     */
+    private record Selection(List<TimeSlot> timeSlots, List<TimeSlot> preferredTimeSlots) {
+    }
+
+    /**
+     * Resolve and validate the selected timeslots against the week's timeslots
+     */
+    private Selection resolveSelection(VotingWeek currentWeek, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
+        if (timeSlotIds == null) {
+            throw new RuntimeException("No timeslots selected");
+        }
+        if (timeSlotIds.stream().anyMatch(Objects::isNull)
+                || (preferredTimeSlotIds != null && preferredTimeSlotIds.stream().anyMatch(Objects::isNull))) {
+            throw new RuntimeException("Timeslot ids must not be null");
+        }
+
+        // Resolve the selected timeslots from the current week (served from the second-level cache)
+        Map<Long, TimeSlot> weekSlotsById = currentWeek.getTimeSlots().stream()
+                .collect(Collectors.toMap(TimeSlot::getId, ts -> ts));
+
+        List<TimeSlot> timeSlots = new ArrayList<>();
+        for (Long timeSlotId : new LinkedHashSet<>(timeSlotIds)) {
+            TimeSlot timeSlot = weekSlotsById.get(timeSlotId);
+            if (timeSlot == null) {
+                throw new RuntimeException("Some timeslots do not belong to the current voting week");
+            }
+            timeSlots.add(timeSlot);
+        }
+
+        // Handle preferred timeslots
+        List<TimeSlot> preferredTimeSlots = new ArrayList<>();
+        if (preferredTimeSlotIds != null && !preferredTimeSlotIds.isEmpty()) {
+            // Verify all preferred timeslots are part of the selected timeslots
+            if (!timeSlotIds.containsAll(preferredTimeSlotIds)) {
+                throw new RuntimeException("All preferred timeslots must be among the selected timeslots");
+            }
+            // Reuse the already resolved slots instead of loading them again
+            Set<Long> preferredIds = new HashSet<>(preferredTimeSlotIds);
+            preferredTimeSlots = timeSlots.stream()
+                    .filter(ts -> preferredIds.contains(ts.getId()))
+                    .collect(Collectors.toList());
+
+            if (preferredTimeSlots.size() != preferredTimeSlotIds.size()) {
+                throw new RuntimeException("Some preferred timeslots not found");
+            }
+        }
+
+        return new Selection(timeSlots, preferredTimeSlots);
+    }
+
+    /**
+     * Run an action once the surrounding transaction has committed (immediately if there is none),
+     * so caches are never refilled from data that is not yet visible
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
 }
@@ -0,0 +1,221 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.dto.VoteExportRowDTO;
+
+import java.util.*;
+
+/**
+ * Slot bitsets of one week's voters; bit i stands for the i-th slot of the week in datetime order.
+ * <p>
+ * Every update carries the week version of the vote change. An update is only applied if it is newer
+ * than what is known for the voter (and newer than the version the initial load was read at), so
+ * after-commit callbacks arriving out of order cannot roll a voter back. Updates arriving before the
+ * initial load are replayed on top of it.
+ */
+class WeekAvailability {
+
+    /**
+     * A slot (by index) with the number of queried players that can attend and that prefer it
+     */
+    record SlotCoverage(int slot, int available, int preferred) {
+    }
+
+    private record VoterSlots(long version, BitSet available, BitSet preferred) {
+    }
+
+    private record Update(long version, String voterName, Collection<Long> timeSlotIds, Collection<Long> preferredTimeSlotIds) {
+    }
+
+    private boolean loaded;
+    private long loadedVersion;
+    private List<TimeSlotDTO> slots = List.of();
+    private final Map<Long, Integer> slotIndexById = new HashMap<>();
+    private final Map<String, VoterSlots> voters = new HashMap<>();
+    private final List<Update> pending = new ArrayList<>();
+
+    // Highest version up to which every change has been seen, plus changes seen beyond it
+    private long contiguousVersion;
+    private final TreeSet<Long> versionsAhead = new TreeSet<>();
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Initial load from the database; the rows reflect at least the given version
+     */
+    synchronized void load(long version, List<TimeSlotDTO> weekSlots, List<VoteExportRowDTO> rows) {
+        if (loaded) {
+            return;
+        }
+        slots = List.copyOf(weekSlots);
+        for (int i = 0; i < slots.size(); i++) {
+            slotIndexById.put(slots.get(i).getId(), i);
+        }
+
+        Map<String, VoterSlots> loadedVoters = new HashMap<>();
+        for (VoteExportRowDTO row : rows) {
+            Integer index = slotIndexById.get(row.getTimeSlotId());
+            if (index == null) {
+                continue;
+            }
+            VoterSlots voter = loadedVoters.computeIfAbsent(row.getVoterName(),
+                    name -> new VoterSlots(version, new BitSet(slots.size()), new BitSet(slots.size())));
+            voter.available().set(index);
+            if (Boolean.TRUE.equals(row.getPreferred())) {
+                voter.preferred().set(index);
+            }
+        }
+        voters.putAll(loadedVoters);
+
+        loaded = true;
+        loadedVersion = version;
+        advanceContiguousVersion(version);
+        pending.forEach(this::apply);
+        pending.clear();
+    }
+
+    /**
+     * A voter's selection as committed at the given week version
+     */
+    synchronized void update(long version, String voterName, Collection<Long> timeSlotIds, Collection<Long> preferredTimeSlotIds) {
+        Update update = new Update(version, voterName, timeSlotIds, preferredTimeSlotIds);
+        markSeen(version);
+        if (loaded) {
+            apply(update);
+        } else {
+            pending.add(update);
+        }
+    }
+
+    /**
+     * Whether a change up to the given version was never applied here (e.g. made by another instance)
+     */
+    synchronized boolean isBehind(long version) {
+        return contiguousVersion < version;
+    }
+
+    synchronized boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    synchronized TimeSlotDTO slot(int index) {
+        return slots.get(index);
+    }
+
+    synchronized List<String> unknownVoters(Collection<String> players) {
+        return players.stream().filter(player -> !hasVote(player)).toList();
+    }
+
+    /**
+     * Slots every given player can attend (all voters if none are given)
+     */
+    synchronized List<SlotCoverage> intersection(Collection<String> players) {
+        List<VoterSlots> members = members(players);
+        if (members.isEmpty() || (!players.isEmpty() && members.size() < new HashSet<>(players).size())) {
+            return List.of(); // Someone without a vote can attend nothing
+        }
+        BitSet result = new BitSet(slots.size());
+        result.set(0, slots.size());
+        members.forEach(member -> result.and(member.available()));
+        return coverage(result, members);
+    }
+
+    /**
+     * Slots at least one of the given players can attend (all voters if none are given)
+     */
+    synchronized List<SlotCoverage> union(Collection<String> players) {
+        List<VoterSlots> members = members(players);
+        BitSet result = new BitSet(slots.size());
+        members.forEach(member -> result.or(member.available()));
+        return coverage(result, members);
+    }
+
+    /**
+     * The k slots most of the given players can attend, ties broken by preference, then by datetime
+     */
+    synchronized List<SlotCoverage> topCoverage(Collection<String> players, int k) {
+        List<VoterSlots> members = members(players);
+        BitSet all = new BitSet(slots.size());
+        all.set(0, slots.size());
+        return coverage(all, members).stream()
+                .filter(slot -> slot.available() > 0)
+                .sorted(Comparator.comparingInt(SlotCoverage::available).reversed()
+                        .thenComparing(Comparator.comparingInt(SlotCoverage::preferred).reversed())
+                        .thenComparingInt(SlotCoverage::slot))
+                .limit(k)
+                .toList();
+    }
+
+    private List<SlotCoverage> coverage(BitSet selected, List<VoterSlots> members) {
+        List<SlotCoverage> result = new ArrayList<>();
+        for (int i = selected.nextSetBit(0); i >= 0 && i < slots.size(); i = selected.nextSetBit(i + 1)) {
+            int available = 0;
+            int preferred = 0;
+            for (VoterSlots member : members) {
+                if (member.available().get(i)) {
+                    available++;
+                }
+                if (member.preferred().get(i)) {
+                    preferred++;
+                }
+            }
+            result.add(new SlotCoverage(i, available, preferred));
+        }
+        return result;
+    }
+
+    private List<VoterSlots> members(Collection<String> players) {
+        if (players.isEmpty()) {
+            return voters.values().stream().filter(voter -> !voter.available().isEmpty()).toList();
+        }
+        return new LinkedHashSet<>(players).stream()
+                .map(voters::get)
+                .filter(voter -> voter != null && !voter.available().isEmpty())
+                .toList();
+    }
+
+    private boolean hasVote(String player) {
+        VoterSlots voter = voters.get(player);
+        return voter != null && !voter.available().isEmpty();
+    }
+
+    private void apply(Update update) {
+        if (update.version() <= loadedVersion) {
+            return; // Already contained in the loaded rows
+        }
+        VoterSlots existing = voters.get(update.voterName());
+        if (existing != null && existing.version() >= update.version()) {
+            return;
+        }
+        voters.put(update.voterName(), new VoterSlots(update.version(),
+                toBitSet(update.timeSlotIds()), toBitSet(update.preferredTimeSlotIds())));
+    }
+
+    private BitSet toBitSet(Collection<Long> timeSlotIds) {
+        BitSet bits = new BitSet(slots.size());
+        for (Long timeSlotId : timeSlotIds) {
+            Integer index = slotIndexById.get(timeSlotId);
+            if (index != null) {
+                bits.set(index);
+            }
+        }
+        return bits;
+    }
+
+    private void markSeen(long version) {
+        if (version > contiguousVersion) {
+            versionsAhead.add(version);
+            advanceContiguousVersion(contiguousVersion);
+        }
+    }
+
+    private void advanceContiguousVersion(long version) {
+        contiguousVersion = Math.max(contiguousVersion, version);
+        versionsAhead.headSet(contiguousVersion, true).clear();
+        while (versionsAhead.remove(contiguousVersion + 1)) {
+            contiguousVersion++;
+        }
+    }
+}
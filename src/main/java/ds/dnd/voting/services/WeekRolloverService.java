@@ -0,0 +1,86 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.model.VotingWeek;
+import ds.dnd.voting.repositories.VotingWeekRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Weekly rollover that is safe with several instances on one database.
+ * Every instance's scheduler fires, but only the one that inserts the claim row for the
+ * rollover date creates the new week; the others see the duplicate key and skip.
+ * A rollover missed while no instance was running is caught up on startup.
+ */
+@Service
+@Slf4j
+public class WeekRolloverService {
+
+    static final ZoneId ROLLOVER_ZONE = ZoneId.of("Europe/Berlin");
+
+    private final VotingService votingService;
+    private final VotingWeekRepository votingWeekRepository;
+    private final String nodeId;
+
+    public WeekRolloverService(
+            VotingService votingService,
+            VotingWeekRepository votingWeekRepository,
+            @Value("${app.node-id:}") String nodeId) {
+        this.votingService = votingService;
+        this.votingWeekRepository = votingWeekRepository;
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    /**
+     * Scheduled task to reset the voting week every Monday at midnight
+     */
+    @Scheduled(cron = "0 0 0 * * MON", zone = "Europe/Berlin")
+    public void scheduledWeekReset() {
+        log.info("Scheduled week reset triggered on {}", nodeId);
+        rollover(LocalDate.now(ROLLOVER_ZONE));
+    }
+
+    /**
+     * Roll over now if the active week's deadline passed while no instance was running
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMissedRollover() {
+        Optional<VotingWeek> activeWeek = votingWeekRepository.findByActiveTrue();
+        if (activeWeek.isEmpty() || !activeWeek.get().getDeadline().isBefore(LocalDate.now(ROLLOVER_ZONE))) {
+            return;
+        }
+        // Same date the scheduled run would have claimed: the Monday after the deadline
+        LocalDate missedRollover = activeWeek.get().getDeadline().plusDays(1);
+        log.info("Deadline {} of the active week has passed, catching up rollover of {}",
+                activeWeek.get().getDeadline(), missedRollover);
+        rollover(missedRollover);
+    }
+
+    /**
+     * Perform the rollover of the given date unless another instance already did
+     *
+     * @return true if this instance created the new week
+     */
+    public boolean rollover(LocalDate rolloverDate) {
+        try {
+            votingService.rolloverWeek(rolloverDate, nodeId);
+            log.info("Rollover of {} performed by {}", rolloverDate, nodeId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Rollover of {} already claimed by another instance, skipping", rolloverDate);
+            return false;
+        }
+    }
+}
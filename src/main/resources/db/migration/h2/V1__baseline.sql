@@ -0,0 +1,34 @@
+-- Schema as previously created by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version instead of running it.
+
+CREATE TABLE voting_week (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    deadline DATE,
+    active   BOOLEAN NOT NULL
+);
+
+CREATE TABLE time_slot (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    datetime       TIMESTAMP(6),
+    voting_week_id BIGINT NOT NULL,
+    CONSTRAINT fk_time_slot_voting_week FOREIGN KEY (voting_week_id) REFERENCES voting_week (id)
+);
+
+CREATE TABLE vote (
+    vote_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    voter_name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE vote_timeslots (
+    vote_id     BIGINT NOT NULL,
+    timeslot_id BIGINT NOT NULL,
+    CONSTRAINT fk_vote_timeslots_vote FOREIGN KEY (vote_id) REFERENCES vote (vote_id),
+    CONSTRAINT fk_vote_timeslots_timeslot FOREIGN KEY (timeslot_id) REFERENCES time_slot (id)
+);
+
+CREATE TABLE vote_preferred_timeslots (
+    vote_id     BIGINT NOT NULL,
+    timeslot_id BIGINT NOT NULL,
+    CONSTRAINT fk_vote_preferred_timeslots_vote FOREIGN KEY (vote_id) REFERENCES vote (vote_id),
+    CONSTRAINT fk_vote_preferred_timeslots_timeslot FOREIGN KEY (timeslot_id) REFERENCES time_slot (id)
+);
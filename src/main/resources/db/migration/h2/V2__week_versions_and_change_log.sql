@@ -0,0 +1,21 @@
+-- Tables for the delta results endpoint; may already exist where Hibernate created them
+
+CREATE TABLE IF NOT EXISTS week_version (
+    voting_week_id BIGINT NOT NULL PRIMARY KEY,
+    version        BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS vote_change (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    voting_week_id BIGINT       NOT NULL,
+    version        BIGINT       NOT NULL,
+    voter_name     VARCHAR(255) NOT NULL,
+    change_type    VARCHAR(255) NOT NULL,
+    changed_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_vote_change_week_version ON vote_change (voting_week_id, version);
+
+-- Every week has a version row from here on: votes lock it, and resets and revalidation go through it
+INSERT INTO week_version (voting_week_id, version)
+SELECT id, 0 FROM voting_week WHERE id NOT IN (SELECT voting_week_id FROM week_version);
@@ -0,0 +1,14 @@
+-- Indexes for the columns the repositories filter and join on.
+-- vote_timeslots.timeslot_id, vote_preferred_timeslots.timeslot_id and time_slot.voting_week_id
+-- are already indexed here: H2 creates an index for every foreign key.
+
+CREATE INDEX IF NOT EXISTS idx_voting_week_active ON voting_week (active);
+CREATE INDEX IF NOT EXISTS idx_voting_week_deadline ON voting_week (deadline);
+
+-- At most one active week: keep the newest one active, then enforce it.
+-- H2 has no partial indexes; the generated column is NULL for inactive weeks and NULLs don't collide.
+UPDATE voting_week SET active = FALSE
+WHERE active AND id <> (SELECT MAX(id) FROM voting_week WHERE active);
+
+ALTER TABLE voting_week ADD COLUMN active_marker BOOLEAN GENERATED ALWAYS AS (CASE WHEN active THEN TRUE END);
+CREATE UNIQUE INDEX ux_voting_week_single_active ON voting_week (active_marker);
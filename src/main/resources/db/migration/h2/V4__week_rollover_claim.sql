@@ -0,0 +1,7 @@
+-- One row per weekly rollover; the primary key lets exactly one instance claim it
+
+CREATE TABLE week_rollover_claim (
+    rollover_date DATE         NOT NULL PRIMARY KEY,
+    claimed_by    VARCHAR(255) NOT NULL,
+    claimed_at    TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Indexes for the columns the repositories filter and join on
+
+CREATE INDEX IF NOT EXISTS idx_vote_timeslots_timeslot ON vote_timeslots (timeslot_id);
+CREATE INDEX IF NOT EXISTS idx_vote_preferred_timeslots_timeslot ON vote_preferred_timeslots (timeslot_id);
+CREATE INDEX IF NOT EXISTS idx_time_slot_voting_week ON time_slot (voting_week_id);
+CREATE INDEX IF NOT EXISTS idx_voting_week_deadline ON voting_week (deadline);
+
+-- At most one active week: keep the newest one active, then enforce it.
+-- The partial unique index doubles as the index for "WHERE active = true".
+UPDATE voting_week SET active = FALSE
+WHERE active AND id <> (SELECT MAX(id) FROM voting_week WHERE active);
+
+CREATE UNIQUE INDEX ux_voting_week_single_active ON voting_week (active) WHERE active;
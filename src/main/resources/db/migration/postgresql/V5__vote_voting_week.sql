@@ -0,0 +1,35 @@
+-- Votes reference their week directly, so a voter's vote is one indexed lookup
+
+ALTER TABLE vote ADD COLUMN voting_week_id BIGINT;
+
+-- Backfill from the selected timeslots; votes without any selection keep NULL
+UPDATE vote SET voting_week_id = (
+    SELECT MIN(t.voting_week_id)
+    FROM vote_timeslots vt JOIN time_slot t ON t.id = vt.timeslot_id
+    WHERE vt.vote_id = vote.vote_id
+);
+
+-- Keep only the newest vote where a voter ended up with several in one week
+DELETE FROM vote_timeslots WHERE vote_id IN (
+    SELECT older.vote_id FROM vote older
+    WHERE EXISTS (SELECT 1 FROM vote newer
+                  WHERE newer.voting_week_id = older.voting_week_id
+                    AND newer.voter_name = older.voter_name
+                    AND newer.vote_id > older.vote_id)
+);
+DELETE FROM vote_preferred_timeslots WHERE vote_id IN (
+    SELECT older.vote_id FROM vote older
+    WHERE EXISTS (SELECT 1 FROM vote newer
+                  WHERE newer.voting_week_id = older.voting_week_id
+                    AND newer.voter_name = older.voter_name
+                    AND newer.vote_id > older.vote_id)
+);
+DELETE FROM vote WHERE EXISTS (
+    SELECT 1 FROM vote newer
+    WHERE newer.voting_week_id = vote.voting_week_id
+      AND newer.voter_name = vote.voter_name
+      AND newer.vote_id > vote.vote_id
+);
+
+CREATE UNIQUE INDEX ux_vote_week_voter ON vote (voting_week_id, voter_name);
+ALTER TABLE vote ADD CONSTRAINT fk_vote_voting_week FOREIGN KEY (voting_week_id) REFERENCES voting_week (id);
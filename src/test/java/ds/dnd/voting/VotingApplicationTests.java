@@ -2,8 +2,10 @@ package ds.dnd.voting;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class VotingApplicationTests {
 
 	@Test
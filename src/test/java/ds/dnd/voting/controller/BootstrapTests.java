@@ -0,0 +1,101 @@
+package ds.dnd.voting.controller;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.security.JwtService;
+import ds.dnd.voting.services.VotingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Goes through the filter chain, so the token handling of the optional-authentication endpoint is covered
+ */
+@SpringBootTest(properties = "app.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BootstrapTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void validTokenReturnsOwnVote() throws Exception {
+        CurrentWeekDTO week = votingService.resetWeek();
+        Long slotId = week.getTimeSlots().get(0).getId();
+        votingService.submitVote("me", List.of(slotId), List.of(slotId));
+        votingService.submitVote("someone-else", List.of(week.getTimeSlots().get(1).getId()), List.of());
+
+        mockMvc.perform(bootstrapAs("me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.week.id").value(week.getId()))
+                .andExpect(jsonPath("$.results.weekId").value(week.getId()))
+                .andExpect(jsonPath("$.myVote.voterName").value("me"))
+                .andExpect(jsonPath("$.myVote.votedTimeslots.length()").value(1));
+    }
+
+    @Test
+    void noTokenReturnsPublicBootstrap() throws Exception {
+        CurrentWeekDTO week = votingService.resetWeek();
+        votingService.submitVote("me", List.of(week.getTimeSlots().get(0).getId()), List.of());
+
+        mockMvc.perform(get("/api/voting/bootstrap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.week.id").value(week.getId()))
+                .andExpect(jsonPath("$.results.votes.length()").value(1))
+                .andExpect(jsonPath("$.myVote").value(nullValue()));
+    }
+
+    @Test
+    void invalidTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/api/voting/bootstrap").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revalidatesWithETagUntilSomethingChanges() throws Exception {
+        CurrentWeekDTO week = votingService.resetWeek();
+        String eTag = mockMvc.perform(bootstrapAs("me"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(bootstrapAs("me").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(bootstrapAs("me").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // Another user must not get this user's cached response
+        mockMvc.perform(bootstrapAs("other").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        votingService.submitVote("other", List.of(week.getTimeSlots().get(0).getId()), List.of());
+        mockMvc.perform(bootstrapAs("me").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    private MockHttpServletRequestBuilder bootstrapAs(String username) {
+        return get("/api/voting/bootstrap")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(username));
+    }
+}
@@ -0,0 +1,67 @@
+package ds.dnd.voting.controller;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The first requests without an active week create exactly one, complete week
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CurrentWeekCreationTests {
+
+    private static final int REQUESTS = 8;
+
+    @Autowired
+    private SVController controller;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentFirstRequestsCreateOneWeek() throws Exception {
+        jdbcTemplate.update("UPDATE voting_week SET active = FALSE");
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CurrentWeekDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return controller.getCurrentWeek().getBody();
+            }));
+        }
+        start.countDown();
+        Set<Long> weekIds = new HashSet<>();
+        int slotCount = 0;
+        for (Future<CurrentWeekDTO> future : futures) {
+            CurrentWeekDTO week = future.get();
+            weekIds.add(week.getId());
+            slotCount = week.getTimeSlots().size();
+        }
+        executor.shutdown();
+
+        assertEquals(1, weekIds.size());
+        Long weekId = weekIds.iterator().next();
+        assertEquals(List.of(weekId), jdbcTemplate.queryForList("SELECT id FROM voting_week WHERE active", Long.class));
+        assertTrue(slotCount > 0);
+        assertEquals(slotCount, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM time_slot WHERE voting_week_id = ?", Integer.class, weekId));
+    }
+}
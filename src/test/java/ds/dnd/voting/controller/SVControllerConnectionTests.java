@@ -0,0 +1,69 @@
+package ds.dnd.voting.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that /current-week hands a fully built read model to the serializer
+ * and that no database connection is held while the response is written.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SVControllerConnectionTests {
+
+    @Autowired
+    private SVController controller;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void openSessionInViewIsDisabled() {
+        assertEquals(0, applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class).length);
+    }
+
+    @Test
+    void currentWeekReleasesConnectionBeforeSerialization() {
+        ResponseEntity<CurrentWeekDTO> response = controller.getCurrentWeek();
+
+        // Everything the serializer needs is already materialized...
+        CurrentWeekDTO week = response.getBody();
+        assertNotNull(week);
+        assertNotNull(week.getId());
+        assertFalse(week.getTimeSlots().isEmpty());
+
+        // ...and nothing is holding on to the database
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+        assertEquals(0, activeConnections());
+
+        String json = jsonMapper.writeValueAsString(week);
+        assertTrue(json.contains("\"timeSlots\""));
+        assertEquals(0, activeConnections());
+    }
+
+    private int activeConnections() {
+        return ((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections();
+    }
+}
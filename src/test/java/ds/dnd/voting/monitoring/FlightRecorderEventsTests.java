@@ -0,0 +1,96 @@
+package ds.dnd.voting.monitoring;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.security.JwtAuthenticationFilter;
+import ds.dnd.voting.services.VotingService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FlightRecorderEventsTests {
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void hotPathsEmitEventsWithSaneFields() throws Exception {
+        Path file = Files.createTempFile("voting", ".jfr");
+        CurrentWeekDTO week;
+        try (Recording recording = new Recording()) {
+            recording.enable("ds.dnd.voting.SubmitVote");
+            recording.enable("ds.dnd.voting.BuildWeekResult");
+            recording.enable("ds.dnd.voting.CreateWeek");
+            recording.enable("ds.dnd.voting.Authentication");
+            recording.start();
+
+            week = votingService.resetWeek();
+            List<Long> slotIds = List.of(week.getTimeSlots().get(0).getId(), week.getTimeSlots().get(1).getId());
+            votingService.submitVote("recorded", slotIds, List.of(slotIds.get(0)));
+            votingService.getWeekResults(week.getId());
+            jwtAuthenticationFilter.doFilter(new MockHttpServletRequest("POST", "/api/voting/vote"),
+                    new MockHttpServletResponse(), new MockFilterChain());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent created = single(events, "ds.dnd.voting.CreateWeek");
+            assertEquals(week.getId().longValue(), created.getLong("weekId"));
+            assertEquals(week.getTimeSlots().size(), created.getInt("slotCount"));
+            assertTrue(created.getInt("queryCount") > 0);
+
+            RecordedEvent submitted = single(events, "ds.dnd.voting.SubmitVote");
+            assertEquals(week.getId().longValue(), submitted.getLong("weekId"));
+            assertEquals(2, submitted.getInt("slotCount"));
+            assertEquals(1, submitted.getInt("preferredCount"));
+            assertTrue(submitted.getBoolean("succeeded"));
+            assertTrue(submitted.getInt("queryCount") > 0);
+            assertFalse(submitted.getDuration().isNegative());
+
+            RecordedEvent built = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("ds.dnd.voting.BuildWeekResult"))
+                    .filter(event -> event.getLong("weekId") == week.getId())
+                    .findFirst().orElseThrow();
+            assertEquals(week.getTimeSlots().size(), built.getInt("slotCount"));
+            assertEquals(1, built.getInt("voteCount"));
+            assertTrue(built.getInt("queryCount") > 0);
+
+            RecordedEvent authenticated = single(events, "ds.dnd.voting.Authentication");
+            assertEquals("/api/voting/vote", authenticated.getString("path"));
+            assertEquals("REJECTED", authenticated.getString("outcome"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
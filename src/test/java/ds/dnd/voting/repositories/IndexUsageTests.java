@@ -0,0 +1,112 @@
+package ds.dnd.voting.repositories;
+
+import ds.dnd.voting.dto.VoteExportRowDTO;
+import ds.dnd.voting.monitoring.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the SQL Hibernate generates for the key repository queries, runs EXPLAIN on it against the
+ * migrated H2 schema and checks that none of them scans the filtered table
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IndexUsageTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VotingWeekRepository votingWeekRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void activeWeekLookupUsesIndex() {
+        String plan = explain(recordQuery(votingWeekRepository::findActiveWeekSlotRows));
+        assertTrue(plan.contains("IDX_VOTING_WEEK_ACTIVE"), plan);
+        assertNoTableScan(plan, "TIME_SLOT");
+
+        plan = explain(recordQuery(votingWeekRepository::findByActiveTrue));
+        assertTrue(plan.contains("IDX_VOTING_WEEK_ACTIVE"), plan);
+    }
+
+    @Test
+    void slotVoteCountsUseIndex() {
+        assertNoTableScan(explain(recordQuery(() -> timeSlotRepository.countVotesByTimeSlotId(1L)), 1L),
+                "VOTE_TIMESLOTS");
+        assertNoTableScan(explain(recordQuery(() -> timeSlotRepository.countPreferredVotesByTimeSlotId(1L)), 1L),
+                "VOTE_PREFERRED_TIMESLOTS");
+    }
+
+    @Test
+    void weekVotesUseIndexes() {
+        String plan = explain(recordQuery(() -> voteRepository.findVotesByVotingWeek(1L)), 1L);
+        assertNoTableScan(plan, "TIME_SLOT");
+        assertNoTableScan(plan, "VOTE_TIMESLOTS");
+    }
+
+    @Test
+    void exportRangeUsesDeadlineIndex() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        String sql = recordQuery(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<VoteExportRowDTO> rows = voteRepository.streamExportRows(from, to)) {
+                rows.count();
+            }
+        }));
+        String plan = explain(sql, from, to);
+        assertTrue(plan.contains("IDX_VOTING_WEEK_DEADLINE"), plan);
+    }
+
+    @Test
+    void onlyOneWeekCanBeActive() {
+        jdbcTemplate.update("UPDATE voting_week SET active = FALSE");
+        jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (DATE '2030-01-06', TRUE)");
+        try {
+            assertThrows(DataIntegrityViolationException.class, () ->
+                    jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (DATE '2030-01-13', TRUE)"));
+            jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (DATE '2030-01-13', FALSE)");
+        } finally {
+            jdbcTemplate.update("DELETE FROM voting_week WHERE deadline >= DATE '2030-01-01'");
+        }
+    }
+
+    /**
+     * The single statement the query method prepared
+     */
+    private static String recordQuery(Runnable query) {
+        List<String> statements = QueryCounter.record(query);
+        assertEquals(1, statements.size(), statements.toString());
+        return statements.get(0);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static void assertNoTableScan(String plan, String table) {
+        assertFalse(plan.contains("PUBLIC." + table + ".tableScan"), plan);
+    }
+}
@@ -0,0 +1,42 @@
+package ds.dnd.voting.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Migrations applied to a database that already holds data from before them
+ */
+class MigrationTests {
+
+    @Test
+    void weeksCreatedBeforeVersionsWereTrackedGetAVersion() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        migrate(dataSource, "1");
+        jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (DATE '2026-01-04', FALSE)");
+        jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (DATE '2026-01-11', TRUE)");
+        migrate(dataSource, "latest");
+
+        assertEquals(List.of(0L, 0L), jdbcTemplate.queryForList(
+                "SELECT v.version FROM voting_week w JOIN week_version v ON v.voting_week_id = w.id ORDER BY w.id",
+                Long.class));
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .target(target)
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,155 @@
+package ds.dnd.voting.security;
+
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read latency while writers saturate the limiter is measured in the "benchmark" group (mvn test -Pbenchmark)
+ */
+@Slf4j
+class RateLimitFilterTests {
+
+    @Test
+    void tokenBucketAllowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertTrue(bucket.nanosUntilAvailable() > 0);
+    }
+
+    @Test
+    void perClientWriteBudgetIsEnforced() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 100, 100, 1000, 1000, 1, 2, 100, 100, 100);
+
+        assertEquals(200, send(filter, "POST", "/api/auth/login", "10.0.0.1"));
+        assertEquals(200, send(filter, "POST", "/api/auth/login", "10.0.0.1"));
+        assertEquals(429, send(filter, "POST", "/api/auth/login", "10.0.0.1"));
+
+        // Other clients and reads have their own budgets
+        assertEquals(200, send(filter, "POST", "/api/auth/login", "10.0.0.2"));
+        assertEquals(200, send(filter, "GET", "/api/voting/current-week", "10.0.0.1"));
+    }
+
+    /**
+     * Saturates the global write budget from many clients, with admitted writes holding their thread
+     * like a slow database transaction, and checks that readers are never rejected.
+     */
+    @Test
+    void readersAreNotRejectedWhileWritersAreSaturated() throws Exception {
+        Saturation saturation = saturateWriters(TimeUnit.SECONDS.toNanos(1));
+
+        // Global write budget: burst of 10 plus 50/s over ~1.1s (with scheduling slack)
+        assertTrue(saturation.admittedWrites() <= 10 + 60 + 10, "admitted writes: " + saturation.admittedWrites());
+        assertTrue(saturation.rejectedWrites() > 0);
+        assertEquals(0, saturation.rejectedReads());
+    }
+
+    /**
+     * Read latency through the filter while the writers are saturated
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkReadLatencyUnderWriteSaturation() throws Exception {
+        Saturation saturation = saturateWriters(TimeUnit.SECONDS.toNanos(3));
+
+        List<Long> sorted = saturation.readLatencies().stream().sorted().toList();
+        log.info(String.format("writes admitted=%d rejected=%d, reads=%d p50=%dµs p99=%dµs",
+                saturation.admittedWrites(), saturation.rejectedWrites(), sorted.size(),
+                TimeUnit.NANOSECONDS.toMicros(sorted.get(sorted.size() / 2)),
+                TimeUnit.NANOSECONDS.toMicros(sorted.get((int) (sorted.size() * 0.99)))));
+    }
+
+    private record Saturation(int admittedWrites, int rejectedWrites, int rejectedReads, List<Long> readLatencies) {
+    }
+
+    private static Saturation saturateWriters(long durationNanos) throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 1000, 1000, 10_000, 10_000, 1000, 1000, 50, 10, 100);
+        FilterChain slowWrite = (request, response) -> sleep(20);
+        FilterChain fastRead = (request, response) -> { };
+
+        int writers = 16;
+        int readers = 4;
+
+        AtomicInteger admittedWrites = new AtomicInteger();
+        AtomicInteger rejectedWrites = new AtomicInteger();
+        AtomicInteger rejectedReads = new AtomicInteger();
+        List<Long> readLatencies = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + durationNanos + TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int w = 0; w < writers; w++) {
+            String client = "10.1.0." + w;
+            executor.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    int status = send(filter, slowWrite, "POST", "/api/voting/vote", client);
+                    (status == 429 ? rejectedWrites : admittedWrites).incrementAndGet();
+                }
+                return null;
+            });
+        }
+        for (int r = 0; r < readers; r++) {
+            String client = "10.2.0." + r;
+            executor.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    if (send(filter, fastRead, "GET", "/api/voting/current-results", client) == 429) {
+                        rejectedReads.incrementAndGet();
+                    }
+                    readLatencies.add(System.nanoTime() - begin);
+                    sleep(1);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        return new Saturation(admittedWrites.get(), rejectedWrites.get(), rejectedReads.get(), readLatencies);
+    }
+
+    private static int send(RateLimitFilter filter, String method, String path, String client) throws Exception {
+        return send(filter, (request, response) -> { }, method, path, client);
+    }
+
+    private static int send(RateLimitFilter filter, FilterChain chain, String method, String path, String client)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.VotingApplication;
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.services.ResultEncoder.ResultFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application contexts ("nodes") on one database: a vote saved on one node must show up in the
+ * other node's cached results after the next poll of its coherence watcher. Scheduled polling is
+ * effectively disabled, so the test drives the polls and doesn't depend on timing.
+ */
+class CacheCoherenceClusterTests {
+
+    private static final int ROUNDS = 5;
+
+    private final String databaseUrl = "jdbc:h2:mem:coherence-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private ConfigurableApplicationContext writer;
+    private ConfigurableApplicationContext reader;
+
+    @AfterEach
+    void stopNodes() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void remoteVotesInvalidateCachedResultsOnNextPoll() {
+        writer = startNode("writer");
+        reader = startNode("reader");
+
+        CurrentWeekDTO week = writer.getBean(VotingService.class).resetWeek();
+        Long slotId = week.getTimeSlots().get(0).getId();
+        CacheCoherenceWatcher watcher = reader.getBean(CacheCoherenceWatcher.class);
+        watcher.poll();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            String voter = "remote-" + round;
+            // Warm the reader's cache before the write
+            assertFalse(cachedResults(week.getId()).contains(voter));
+
+            writer.getBean(VotingService.class).submitVote(voter, List.of(slotId), List.of());
+            assertFalse(cachedResults(week.getId()).contains(voter), "served from cache until the next poll");
+
+            watcher.poll();
+            assertTrue(cachedResults(week.getId()).contains(voter), "reader still stale after a poll");
+        }
+    }
+
+    private String cachedResults(Long weekId) {
+        VotingService votingService = reader.getBean(VotingService.class);
+        byte[] body = reader.getBean(ResultsResponseCache.class)
+                .getOrEncode(weekId, ResultFormat.JSON, true, () -> votingService.getWeekResults(weekId))
+                .body();
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private ConfigurableApplicationContext startNode(String name) {
+        return new SpringApplicationBuilder(VotingApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + databaseUrl,
+                        "--server.port=0",
+                        "--app.node-id=" + name,
+                        "--app.coherence.poll-interval-ms=3600000");
+    }
+}
@@ -0,0 +1,91 @@
+package ds.dnd.voting.services;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import ds.dnd.voting.dto.CacheRegionStatsDTO;
+import ds.dnd.voting.model.TimeSlot;
+import ds.dnd.voting.model.VotingWeek;
+import ds.dnd.voting.repositories.VotingWeekRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheServiceTests {
+
+    private static final String WEEK_REGION = VotingWeek.class.getName();
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private VotingWeekRepository votingWeekRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void secondLoadOfWeekIsServedFromCache() {
+        Long weekId = votingService.resetWeek().getId();
+
+        // Each repository call runs in its own session, so only the second-level cache can serve the repeat
+        votingWeekRepository.findById(weekId).orElseThrow();
+        CacheRegionStatsDTO afterFirst = weekRegionStats();
+        votingWeekRepository.findById(weekId).orElseThrow();
+        CacheRegionStatsDTO afterSecond = weekRegionStats();
+
+        assertEquals(afterFirst.getHitCount() + 1, afterSecond.getHitCount());
+        assertEquals(afterFirst.getMissCount(), afterSecond.getMissCount());
+    }
+
+    @Test
+    void evictionForcesReloadOfClosedWeek() {
+        Long weekId = votingService.resetWeek().getId();
+        assertTrue(votingWeekRepository.findById(weekId).orElseThrow().isActive());
+
+        votingService.resetWeek();
+        long missesBefore = weekRegionStats().getMissCount();
+        assertFalse(votingWeekRepository.findById(weekId).orElseThrow().isActive());
+        assertEquals(missesBefore + 1, weekRegionStats().getMissCount());
+
+        // Cached again now; an explicit eviction sends the next load to the database
+        votingWeekRepository.findById(weekId).orElseThrow();
+        entityCacheService.evictVotingWeeks();
+        long missesAfterEvict = weekRegionStats().getMissCount();
+        votingWeekRepository.findById(weekId).orElseThrow();
+        assertEquals(missesAfterEvict + 1, weekRegionStats().getMissCount());
+    }
+
+    @Test
+    void regionsHaveTheirOwnSize() {
+        CacheManager cacheManager = (CacheManager) entityManagerFactory.getProperties().get(ConfigSettings.CACHE_MANAGER);
+
+        assertEquals(OptionalLong.of(5000), maximumSize(cacheManager, TimeSlot.class.getName()));
+        assertEquals(OptionalLong.of(500), maximumSize(cacheManager, WEEK_REGION));
+        assertEquals(OptionalLong.of(500), maximumSize(cacheManager, WEEK_REGION + ".timeSlots"));
+    }
+
+    private static OptionalLong maximumSize(CacheManager cacheManager, String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class).getMaximumSize();
+    }
+
+    private CacheRegionStatsDTO weekRegionStats() {
+        return entityCacheService.getStatistics().stream()
+                .filter(stats -> stats.getRegion().equals(WEEK_REGION))
+                .findFirst()
+                .orElseThrow();
+    }
+}
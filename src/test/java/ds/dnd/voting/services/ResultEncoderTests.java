@@ -0,0 +1,152 @@
+package ds.dnd.voting.services;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ds.dnd.voting.dto.CompactWeekResultDTO;
+import ds.dnd.voting.dto.TimeSlotStatsDTO;
+import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.services.ResultEncoder.ResultFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class ResultEncoderTests {
+
+    private static final int VOTERS = 30;
+    private static final int ITERATIONS = 2_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ResultEncoder encoder = new ResultEncoder(jsonMapper);
+
+    @Test
+    void negotiatesByAcceptHeader() {
+        assertEquals(ResultFormat.JSON, ResultEncoder.negotiate(null));
+        assertEquals(ResultFormat.JSON, ResultEncoder.negotiate("*/*"));
+        assertEquals(ResultFormat.JSON, ResultEncoder.negotiate("not a media type"));
+        assertEquals(ResultFormat.CBOR, ResultEncoder.negotiate("application/cbor"));
+        assertEquals(ResultFormat.SMILE, ResultEncoder.negotiate("application/x-jackson-smile, application/json;q=0.5"));
+        assertEquals(ResultFormat.COMPACT_JSON, ResultEncoder.negotiate("application/json;q=0.8, application/vnd.dnd.compact+json"));
+        assertEquals(ResultFormat.JSON, ResultEncoder.negotiate("application/cbor;q=0, */*"));
+        assertEquals(ResultFormat.SMILE, ResultEncoder.negotiate("application/cbor;q=0, application/x-jackson-smile;q=0.1"));
+    }
+
+    @Test
+    void compactShapeRefersToSlotsByIndex() {
+        WeekResultDTO result = syntheticWeek();
+
+        CompactWeekResultDTO compact = jsonMapper.readValue(
+                encoder.encode(result, ResultFormat.COMPACT_JSON), CompactWeekResultDTO.class);
+
+        assertEquals(result.getTimeSlots().size(), compact.getSlots().size());
+        assertEquals(List.of(0), compact.getWinners());
+        VoteResultDTO firstVote = result.getVotes().get(0);
+        List<LocalDateTime> decoded = compact.getVotes().get(0).getSlots().stream()
+                .map(index -> compact.getSlots().get(index).getDatetime())
+                .toList();
+        assertEquals(firstVote.getVotedTimeslots(), decoded);
+    }
+
+    @Test
+    void binaryFormatsDecodeToTheJsonDocument() {
+        JsonMapper configured = JsonMapper.builder()
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_EMPTY))
+                .build();
+        ResultEncoder configuredEncoder = new ResultEncoder(configured);
+        WeekResultDTO result = syntheticWeek();
+        result.setVotes(List.of());
+
+        JsonNode json = configured.readTree(configuredEncoder.encode(result, ResultFormat.JSON));
+
+        assertFalse(json.has("votes"));
+        assertTrue(json.get("deadline").isArray());
+        assertEquals(json, new CBORMapper().readTree(configuredEncoder.encode(result, ResultFormat.CBOR)));
+        assertEquals(json, new SmileMapper().readTree(configuredEncoder.encode(result, ResultFormat.SMILE)));
+    }
+
+    @Test
+    void alternativeFormatsAreSmallerThanJson() {
+        WeekResultDTO result = syntheticWeek();
+        int jsonSize = encoder.encode(result, ResultFormat.JSON).length;
+
+        for (ResultFormat format : ResultFormat.values()) {
+            if (format != ResultFormat.JSON) {
+                assertTrue(encoder.encode(result, format).length < jsonSize, format + " should be smaller than plain JSON");
+            }
+        }
+    }
+
+    /**
+     * Payload size and serialization time per format; logs a small table
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkFormats() throws IOException {
+        WeekResultDTO result = syntheticWeek();
+
+        log.info("format        bytes   gzip bytes   µs/encode");
+        for (ResultFormat format : ResultFormat.values()) {
+            byte[] body = encoder.encode(result, format);
+
+            // Warm up, then measure
+            for (int i = 0; i < ITERATIONS; i++) {
+                encoder.encode(result, format);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                encoder.encode(result, format);
+            }
+            double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+            log.info(String.format("%-12s %6d %12d %11.1f", format, body.length, gzip(body).length, micros));
+        }
+    }
+
+    private static WeekResultDTO syntheticWeek() {
+        LocalDate deadline = LocalDate.of(2025, 3, 16);
+        List<TimeSlotStatsDTO> slots = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            slots.add(new TimeSlotStatsDTO(100L + i, deadline.plusDays(1 + i % 7).atTime(i < 7 ? 18 : 10, 0),
+                    VOTERS - i, i, i == 0));
+        }
+
+        List<VoteResultDTO> votes = new ArrayList<>();
+        for (int v = 0; v < VOTERS; v++) {
+            List<LocalDateTime> voted = new ArrayList<>();
+            for (int i = 0; i < slots.size(); i++) {
+                if ((v + i) % 3 != 0 || i == 0) {
+                    voted.add(slots.get(i).getDatetime());
+                }
+            }
+            votes.add(new VoteResultDTO("Adventurer " + v, voted, List.of(voted.get(0))));
+        }
+
+        return new WeekResultDTO(1L, deadline, slots, votes, List.of(slots.get(0)));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
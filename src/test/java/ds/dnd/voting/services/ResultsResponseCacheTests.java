@@ -0,0 +1,118 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.TimeSlotStatsDTO;
+import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.services.ResultEncoder.ResultFormat;
+import ds.dnd.voting.services.ResultsResponseCache.EncodedResult;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultsResponseCacheTests {
+
+    private final ResultEncoder encoder = new ResultEncoder(JsonMapper.builder().build());
+
+    @Test
+    void evictsLeastRecentlyUsedWeeksBeyondBudget() {
+        long entrySize = sizeOf(1L);
+        ResultsResponseCache cache = new ResultsResponseCache(encoder, entrySize * 2);
+        CountingLoader week1 = new CountingLoader(1L);
+        CountingLoader week2 = new CountingLoader(2L);
+        CountingLoader week3 = new CountingLoader(3L);
+
+        cache.getOrEncode(1L, ResultFormat.CBOR, false, week1);
+        cache.getOrEncode(2L, ResultFormat.CBOR, false, week2);
+        cache.getOrEncode(1L, ResultFormat.CBOR, false, week1); // week 2 is now least recently used
+        cache.getOrEncode(3L, ResultFormat.CBOR, false, week3);
+
+        cache.getOrEncode(1L, ResultFormat.CBOR, false, week1);
+        cache.getOrEncode(3L, ResultFormat.CBOR, false, week3);
+        cache.getOrEncode(2L, ResultFormat.CBOR, false, week2);
+        assertEquals(1, week1.loads.get());
+        assertEquals(1, week3.loads.get());
+        assertEquals(2, week2.loads.get());
+    }
+
+    @Test
+    void neverEvictsPinnedWeek() {
+        long entrySize = sizeOf(1L);
+        ResultsResponseCache cache = new ResultsResponseCache(encoder, entrySize * 2);
+        CountingLoader active = new CountingLoader(1L);
+
+        cache.getOrEncode(1L, ResultFormat.CBOR, true, active);
+        for (long weekId = 2; weekId <= 5; weekId++) {
+            cache.getOrEncode(weekId, ResultFormat.CBOR, false, new CountingLoader(weekId));
+        }
+
+        cache.getOrEncode(1L, ResultFormat.CBOR, true, active);
+        assertEquals(1, active.loads.get());
+    }
+
+    @Test
+    void doesNotStoreResultComputedBeforeConcurrentVote() {
+        ResultsResponseCache cache = new ResultsResponseCache(encoder, 1 << 20);
+        CountingLoader loader = new CountingLoader(1L);
+
+        // A vote commits (and invalidates, see VotingService.afterCommit) while the results are being built
+        EncodedResult stale = cache.getOrEncode(1L, ResultFormat.JSON, true, () -> {
+            WeekResultDTO result = loader.get();
+            cache.invalidate(1L);
+            return result;
+        });
+        assertNotNull(stale);
+
+        cache.getOrEncode(1L, ResultFormat.JSON, true, loader);
+        cache.getOrEncode(1L, ResultFormat.JSON, true, loader);
+        assertEquals(2, loader.loads.get());
+    }
+
+    @Test
+    void tracksOnlyCachedWeeks() {
+        ResultsResponseCache cache = new ResultsResponseCache(encoder, 1 << 20);
+
+        for (long weekId = 100; weekId < 200; weekId++) {
+            assertNull(cache.getOrEncode(weekId, ResultFormat.JSON, false, () -> null));
+            cache.invalidate(weekId);
+        }
+        assertEquals(0, cache.trackedWeekCount());
+
+        cache.getOrEncode(1L, ResultFormat.JSON, false, new CountingLoader(1L));
+        assertEquals(1, cache.trackedWeekCount());
+        cache.invalidate(1L);
+        assertEquals(0, cache.trackedWeekCount());
+    }
+
+    private long sizeOf(Long weekId) {
+        return encoder.encode(week(weekId), ResultFormat.CBOR).length;
+    }
+
+    private static WeekResultDTO week(Long weekId) {
+        List<TimeSlotStatsDTO> slots = List.of(
+                new TimeSlotStatsDTO(1L, LocalDateTime.of(2026, 1, 5, 18, 0), 0, 0, false));
+        return new WeekResultDTO(weekId, LocalDate.of(2026, 1, 4), slots, List.of(), List.of());
+    }
+
+    private static class CountingLoader implements Supplier<WeekResultDTO> {
+        private final Long weekId;
+        private final AtomicInteger loads = new AtomicInteger();
+
+        CountingLoader(Long weekId) {
+            this.weekId = weekId;
+        }
+
+        @Override
+        public WeekResultDTO get() {
+            loads.incrementAndGet();
+            return week(weekId);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.repositories.VoteRepository;
+import ds.dnd.voting.services.VoteExportService.ExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exports a synthetic voting history. The default size keeps the suite fast; run with
+ * -Dexport.test.weeks=5000 -Dexport.test.voters=400 to stream a history of millions of votes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteExportServiceTests {
+
+    private static final long ID_BASE = 1_000_000L;
+    private static final int SLOTS_PER_WEEK = 9;
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDate FIRST_DEADLINE = LocalDate.of(2001, 1, 7);
+
+    private final int weeks = Integer.getInteger("export.test.weeks", 50);
+    private final int votersPerWeek = Integer.getInteger("export.test.voters", 200);
+
+    @Autowired
+    private VoteExportService voteExportService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long expectedRows;
+    private long expectedRowsFirstWeek;
+
+    @BeforeEach
+    void insertSyntheticHistory() {
+        List<Object[]> weekRows = new ArrayList<>();
+        List<Object[]> slotRows = new ArrayList<>();
+        for (int w = 0; w < weeks; w++) {
+            LocalDate deadline = FIRST_DEADLINE.plusWeeks(w);
+            weekRows.add(new Object[]{ID_BASE + w, Date.valueOf(deadline), false});
+            for (int s = 0; s < SLOTS_PER_WEEK; s++) {
+                slotRows.add(new Object[]{slotId(w, s), Timestamp.valueOf(deadline.plusDays(1 + s % 7).atTime(18, 0)), ID_BASE + w});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO voting_week (id, deadline, active) VALUES (?, ?, ?)", weekRows);
+        jdbcTemplate.batchUpdate("INSERT INTO time_slot (id, datetime, voting_week_id) VALUES (?, ?, ?)", slotRows);
+
+        List<Object[]> votes = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> selections = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> preferred = new ArrayList<>(BATCH_SIZE);
+        long voteId = ID_BASE;
+        for (int w = 0; w < weeks; w++) {
+            for (int v = 0; v < votersPerWeek; v++) {
+                votes.add(new Object[]{voteId, "voter-" + v});
+                boolean first = true;
+                for (int s = 0; s < SLOTS_PER_WEEK; s++) {
+                    if ((v + s) % 2 == 0) {
+                        selections.add(new Object[]{voteId, slotId(w, s)});
+                        if (first) {
+                            preferred.add(new Object[]{voteId, slotId(w, s)});
+                            first = false;
+                        }
+                        expectedRows++;
+                        if (w == 0) {
+                            expectedRowsFirstWeek++;
+                        }
+                    }
+                }
+                voteId++;
+                if (selections.size() >= BATCH_SIZE) {
+                    flush(votes, selections, preferred);
+                }
+            }
+        }
+        flush(votes, selections, preferred);
+    }
+
+    @AfterEach
+    void deleteSyntheticHistory() {
+        jdbcTemplate.update("DELETE FROM vote_preferred_timeslots WHERE vote_id >= ?", ID_BASE);
+        jdbcTemplate.update("DELETE FROM vote_timeslots WHERE vote_id >= ?", ID_BASE);
+        jdbcTemplate.update("DELETE FROM vote WHERE vote_id >= ?", ID_BASE);
+        jdbcTemplate.update("DELETE FROM time_slot WHERE voting_week_id >= ?", ID_BASE);
+        jdbcTemplate.update("DELETE FROM voting_week WHERE id >= ?", ID_BASE);
+    }
+
+    @Test
+    void csvExportWritesOneRowPerSelection() {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long rows = voteExportService.export(FIRST_DEADLINE, lastDeadline(), ExportFormat.CSV, out);
+
+        assertEquals(expectedRows, rows);
+        assertEquals(expectedRows + 1, out.lines); // header
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws IOException {
+        LocalDate to = FIRST_DEADLINE;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = voteExportService.export(FIRST_DEADLINE, to, ExportFormat.NDJSON, out);
+
+        assertEquals(expectedRowsFirstWeek, rows);
+        List<String> lines = readLines(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(expectedRowsFirstWeek, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"weekId\":" + ID_BASE + ",\"deadline\":\"" + FIRST_DEADLINE + "\""));
+        assertTrue(lines.stream().anyMatch(line -> line.endsWith("\"preferred\":true}")));
+    }
+
+    @Test
+    void dateRangeLimitsExportedWeeks() {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long rows = voteExportService.export(FIRST_DEADLINE, FIRST_DEADLINE, ExportFormat.CSV, out);
+
+        assertEquals(expectedRowsFirstWeek, rows);
+    }
+
+    @Test
+    void gzipExportRoundTrips() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            voteExportService.export(FIRST_DEADLINE, FIRST_DEADLINE, ExportFormat.CSV, gzip);
+        }
+
+        List<String> lines = readLines(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())));
+        assertEquals("week_id,deadline,voter_name,timeslot_id,datetime,preferred", lines.get(0));
+        assertEquals(expectedRowsFirstWeek + 1, lines.size());
+    }
+
+    /**
+     * The first bytes reach the output after a small part of the cursor has been read, so the export never
+     * holds the history in memory (only its write buffer)
+     */
+    @Test
+    void rowsAreWrittenWhileTheCursorIsRead() {
+        AtomicLong fetched = new AtomicLong();
+        VoteRepository countingRepository = mock(VoteRepository.class);
+        when(countingRepository.streamExportRows(any(), any())).thenAnswer(invocation ->
+                voteRepository.streamExportRows(invocation.getArgument(0), invocation.getArgument(1))
+                        .peek(row -> fetched.incrementAndGet()));
+        VoteExportService service = new VoteExportService(countingRepository);
+        FirstWriteRecorder out = new FirstWriteRecorder(fetched);
+
+        // The service is not a Spring bean here, so open the cursor's transaction like @Transactional would
+        Long rows = transactionTemplate.execute(status ->
+                service.export(FIRST_DEADLINE, lastDeadline(), ExportFormat.CSV, out));
+
+        assertEquals(expectedRows, rows);
+        assertTrue(out.fetchedAtFirstWrite > 0, "nothing written");
+        assertTrue(out.fetchedAtFirstWrite < expectedRows / 10,
+                out.fetchedAtFirstWrite + " of " + expectedRows + " rows read before the first write");
+    }
+
+    @Test
+    void csvEscapeQuotesSpecialCharacters() {
+        assertEquals("plain", VoteExportService.csvEscape("plain"));
+        assertEquals("\"a,b\"", VoteExportService.csvEscape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", VoteExportService.csvEscape("say \"hi\""));
+    }
+
+    private LocalDate lastDeadline() {
+        return FIRST_DEADLINE.plusWeeks(weeks - 1L);
+    }
+
+    private static long slotId(int week, int slot) {
+        return ID_BASE + (long) week * SLOTS_PER_WEEK + slot;
+    }
+
+    private void flush(List<Object[]> votes, List<Object[]> selections, List<Object[]> preferred) {
+        jdbcTemplate.batchUpdate("INSERT INTO vote (vote_id, voter_name) VALUES (?, ?)", votes);
+        jdbcTemplate.batchUpdate("INSERT INTO vote_timeslots (vote_id, timeslot_id) VALUES (?, ?)", selections);
+        jdbcTemplate.batchUpdate("INSERT INTO vote_preferred_timeslots (vote_id, timeslot_id) VALUES (?, ?)", preferred);
+        votes.clear();
+        selections.clear();
+        preferred.clear();
+    }
+
+    private static List<String> readLines(InputStream in) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    /**
+     * Remembers how many rows had been read from the cursor when the first bytes arrived
+     */
+    private static class FirstWriteRecorder extends OutputStream {
+        private final AtomicLong fetched;
+        long fetchedAtFirstWrite = -1;
+
+        FirstWriteRecorder(AtomicLong fetched) {
+            this.fetched = fetched;
+        }
+
+        @Override
+        public void write(int b) {
+            if (fetchedAtFirstWrite < 0) {
+                fetchedAtFirstWrite = fetched.get();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            write(0);
+        }
+    }
+
+    /**
+     * Counts lines without retaining the output, so large exports don't need a large heap
+     */
+    private static class LineCountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.VoteSubmissionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the write-behind pipeline ends in the same state as the synchronous path
+ * (last submission per voter wins, one row per voter), and how it reports failed submissions.
+ * The submission rate of both paths is compared in the "benchmark" group (mvn test -Pbenchmark).
+ */
+@SpringBootTest(properties = {
+        "app.voting.pipeline.enabled=true",
+        "app.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+@Slf4j
+class VoteWriteBehindQueueTests {
+
+    private static final int VOTERS = 40;
+    private static final int SUBMISSIONS_PER_VOTER = 25;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private VoteWriteBehindQueue voteWriteBehindQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pipelineKeepsLastSubmissionPerVoter() throws Exception {
+        CurrentWeekDTO syncWeek = votingService.resetWeek();
+        run(syncWeek, "sync-", votingService::submitVote);
+        assertFinalState(syncWeek, "sync-");
+
+        CurrentWeekDTO pipelineWeek = votingService.resetWeek();
+        QueuedSubmitter queued = new QueuedSubmitter();
+        run(pipelineWeek, "queued-", queued);
+        awaitSaved(queued.lastSequence());
+        assertFinalState(pipelineWeek, "queued-");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkSubmissionRate() throws Exception {
+        double syncRate = run(votingService.resetWeek(), "bench-sync-", votingService::submitVote);
+
+        QueuedSubmitter queued = new QueuedSubmitter();
+        double pipelineRate = run(votingService.resetWeek(), "bench-queued-", queued);
+        awaitSaved(queued.lastSequence());
+
+        log.info(String.format("submissions/s: synchronous=%.0f, write-behind=%.0f", syncRate, pipelineRate));
+    }
+
+    @Test
+    void forgottenFailuresAreReportedAsUnknown() {
+        VoteWriteBehindQueue queue = new VoteWriteBehindQueue(rejectingAllBut("ok-"), false, 10_000, 200, 5);
+        queue.start();
+
+        long first = queue.enqueue("failing-0", List.of(1L), List.of());
+        for (int i = 1; i <= VoteWriteBehindQueue.MAX_REMEMBERED_OUTCOMES; i++) {
+            queue.enqueue("failing-" + i, List.of(1L), List.of());
+        }
+        long lastFailed = queue.enqueue("failing-last", List.of(1L), List.of());
+        long saved = queue.enqueue("ok-1", List.of(1L), List.of());
+        assertEquals("PENDING", queue.getStatus(saved).getStatus());
+
+        queue.flush();
+
+        assertEquals("UNKNOWN", queue.getStatus(first).getStatus());
+        assertEquals("FAILED", queue.getStatus(lastFailed).getStatus());
+        assertEquals("SAVED", queue.getStatus(saved).getStatus());
+    }
+
+    @Test
+    void supersededSubmissionReportsOutcomeOfItsReplacement() {
+        VoteWriteBehindQueue queue = new VoteWriteBehindQueue(rejectingAllBut("ok-"), false, 10_000, 200, 5);
+        queue.start();
+
+        long replacedBySaved = queue.enqueue("ok-1", List.of(1L), List.of());
+        long saved = queue.enqueue("ok-1", List.of(2L), List.of());
+        long replacedByFailed = queue.enqueue("failing-1", List.of(1L), List.of());
+        long failed = queue.enqueue("failing-1", List.of(2L), List.of());
+        queue.flush();
+
+        assertEquals("SAVED", queue.getStatus(saved).getStatus());
+        assertEquals("SAVED", queue.getStatus(replacedBySaved).getStatus());
+        assertEquals("FAILED", queue.getStatus(failed).getStatus());
+        assertEquals("FAILED", queue.getStatus(replacedByFailed).getStatus());
+        assertEquals(replacedByFailed, queue.getStatus(replacedByFailed).getSequence());
+    }
+
+    @Test
+    void nullTimeslotIdsAreRejected() {
+        List<Long> withNull = Arrays.asList(1L, null);
+
+        assertThrows(RuntimeException.class, () -> votingService.validateVote(withNull, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> voteWriteBehindQueue.enqueue("null-ids", withNull, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> voteWriteBehindQueue.enqueue("null-ids", List.of(1L), withNull));
+    }
+
+    /**
+     * A VotingService whose batches fail every submission of voters without the given prefix
+     */
+    private static VotingService rejectingAllBut(String prefix) {
+        VotingService service = mock(VotingService.class);
+        when(service.applyVoteBatch(anyList())).thenAnswer(invocation -> {
+            Map<Long, String> failures = new HashMap<>();
+            for (VoteSubmissionDTO submission : invocation.<List<VoteSubmissionDTO>>getArgument(0)) {
+                if (!submission.getVoterName().startsWith(prefix)) {
+                    failures.put(submission.getSequence(), "Rejected");
+                }
+            }
+            return failures;
+        });
+        return service;
+    }
+
+    @FunctionalInterface
+    private interface Submitter {
+        Object submit(String voter, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds);
+    }
+
+    /**
+     * Validates like the controller does, then queues; remembers the highest sequence handed out
+     */
+    private class QueuedSubmitter implements Submitter {
+        private long lastSequence;
+
+        @Override
+        public Object submit(String voter, List<Long> timeSlotIds, List<Long> preferredTimeSlotIds) {
+            votingService.validateVote(timeSlotIds, preferredTimeSlotIds);
+            long sequence = voteWriteBehindQueue.enqueue(voter, timeSlotIds, preferredTimeSlotIds);
+            synchronized (this) {
+                lastSequence = Math.max(lastSequence, sequence);
+            }
+            return null;
+        }
+
+        synchronized long lastSequence() {
+            return lastSequence;
+        }
+    }
+
+    private void awaitSaved(long sequence) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!"SAVED".equals(voteWriteBehindQueue.getStatus(sequence).getStatus())) {
+            assertTrue(System.nanoTime() < deadline, "queue was not flushed in time");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Every voter submits repeatedly with a changing selection; the last one selects the first slot only
+     *
+     * @return submissions per second
+     */
+    private double run(CurrentWeekDTO week, String prefix, Submitter submitter) throws Exception {
+        List<Long> slotIds = week.getTimeSlots().stream().map(TimeSlotDTO::getId).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int v = 0; v < VOTERS; v++) {
+            String voter = prefix + v;
+            futures.add(executor.submit(() -> {
+                for (int i = SUBMISSIONS_PER_VOTER - 1; i >= 0; i--) {
+                    List<Long> selection = slotIds.subList(0, 1 + i % slotIds.size());
+                    submitter.submit(voter, selection, List.of(selection.get(0)));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        return VOTERS * SUBMISSIONS_PER_VOTER / (elapsed / 1_000_000_000.0);
+    }
+
+    private void assertFinalState(CurrentWeekDTO week, String prefix) {
+        List<Map<String, Object>> rowsPerVoter = jdbcTemplate.queryForList(
+                "SELECT voter_name, COUNT(*) AS row_count FROM vote " +
+                        "WHERE voting_week_id = ? AND voter_name LIKE ? GROUP BY voter_name",
+                week.getId(), prefix + "%");
+        assertEquals(VOTERS, rowsPerVoter.size());
+        rowsPerVoter.forEach(row -> assertEquals(1L, ((Number) row.get("ROW_COUNT")).longValue(),
+                "rows of " + row.get("VOTER_NAME")));
+
+        LocalDateTime firstSlot = week.getTimeSlots().get(0).getDatetime();
+        List<VoteResultDTO> votes = votingService.getWeekResults(week.getId()).getVotes().stream()
+                .filter(vote -> vote.getVoterName().startsWith(prefix))
+                .toList();
+        assertEquals(VOTERS, votes.size());
+        votes.forEach(vote -> assertEquals(List.of(firstSlot), vote.getVotedTimeslots()));
+    }
+}
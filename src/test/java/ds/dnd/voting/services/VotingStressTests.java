@@ -0,0 +1,291 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.dto.TimeSlotStatsDTO;
+import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.VoteSubmissionDTO;
+import ds.dnd.voting.dto.WeekResultDTO;
+import ds.dnd.voting.repositories.WeekVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Votes, result reads and week resets from many threads with randomized schedules, followed by
+ * invariant checks on the raw tables. Repeatable per seed (the interleaving itself is up to the scheduler):
+ * -Dstress.seed=..., -Dstress.threads=..., -Dstress.seconds=...
+ * Throughput under this contention is reported by the "benchmark" group (mvn test -Pbenchmark).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class VotingStressTests {
+
+    private static final int VOTERS = 30;
+
+    private final long seed = Long.getLong("stress.seed", 42L);
+    private final int threads = Integer.getInteger("stress.threads", 8);
+    private final int seconds = Integer.getInteger("stress.seconds", 3);
+
+    @Autowired
+    private VotingService votingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WeekVersionRepository weekVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<CurrentWeekDTO> knownWeek = new AtomicReference<>();
+    private final Map<Long, String> closedWeekFingerprints = new ConcurrentHashMap<>();
+
+    private final AtomicLong votes = new AtomicLong();
+    private final AtomicLong staleRejections = new AtomicLong();
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+
+    @Test
+    void interleavedVotesReadsAndResetsKeepInvariants() throws Exception {
+        knownWeek.set(votingService.resetWeek());
+        long firstWeekId = knownWeek.get().getId();
+
+        runScenario();
+
+        assertTrue(votes.get() > 0, "no vote got through");
+
+        assertSingleActiveWeek();
+        assertVotesStayWithinOneWeek();
+        assertOneVotePerVoterPerWeek();
+        assertClosedWeeksUnchanged();
+        assertTalliesMatchRawRows(firstWeekId);
+    }
+
+    /**
+     * Throughput of the same mix under contention; run with mvn test -Pbenchmark (and -Dstress.* to vary it)
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkThroughputUnderContention() throws Exception {
+        knownWeek.set(votingService.resetWeek());
+
+        double elapsedSeconds = runScenario() / 1_000_000_000.0;
+
+        log.info(String.format("seed=%d threads=%d: %.0f votes/s (%d rejected as stale), %.0f reads/s, %d resets",
+                seed, threads, votes.get() / elapsedSeconds, staleRejections.get(), reads.get() / elapsedSeconds,
+                resets.get()));
+    }
+
+    /**
+     * Run the randomized mix on all threads for the configured time
+     *
+     * @return elapsed nanoseconds
+     */
+    private long runScenario() throws Exception {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            futures.add(executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    step(random);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * A queued batch that reaches the week's lock only after a reset closed the week is dropped as a whole,
+     * and the closed week's version stays where the reset left it
+     */
+    @Test
+    void batchForWeekClosedMeanwhileFailsWithoutTouchingIt() throws Exception {
+        CurrentWeekDTO week = votingService.resetWeek();
+        Long slotId = week.getTimeSlots().get(0).getId();
+        List<VoteSubmissionDTO> batch = List.of(
+                new VoteSubmissionDTO(1, "late-1", List.of(slotId), List.of()),
+                new VoteSubmissionDTO(2, "late-2", List.of(slotId), List.of()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch resetLocked = new CountDownLatch(1);
+        CountDownLatch batchWaiting = new CountDownLatch(1);
+        Future<?> reset = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            // Same lock createNewWeek takes first; held until the week is closed and committed
+            weekVersionRepository.incrementActiveWeekVersions();
+            resetLocked.countDown();
+            await(batchWaiting);
+            votingService.resetWeek();
+        }));
+        resetLocked.await();
+        Future<Map<Long, String>> flushed = executor.submit(() -> votingService.applyVoteBatch(batch));
+
+        // The batch saw the week as active and now waits for its lock
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Long.class) == 0) {
+            assertTrue(System.nanoTime() < deadline, "batch never waited for the week's lock");
+            Thread.sleep(5);
+        }
+        batchWaiting.countDown();
+        reset.get();
+        long closedVersion = weekVersionRepository.findVersion(week.getId()).orElseThrow();
+
+        Map<Long, String> failures = flushed.get();
+        executor.shutdown();
+
+        assertEquals(Set.of(1L, 2L), failures.keySet());
+        failures.values().forEach(message -> assertTrue(message.contains("has been closed"), message));
+        assertEquals(closedVersion, weekVersionRepository.findVersion(week.getId()).orElseThrow());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vote WHERE voter_name LIKE 'late-%'", Long.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 80% votes (with a possibly outdated view of the week, like a client), 18% reads, 2% resets
+     */
+    private void step(Random random) {
+        int dice = random.nextInt(100);
+        if (dice < 80) {
+            CurrentWeekDTO week = knownWeek.get();
+            List<Long> slotIds = week.getTimeSlots().stream().map(TimeSlotDTO::getId).toList();
+            List<Long> selection = new ArrayList<>();
+            for (Long slotId : slotIds) {
+                if (random.nextBoolean()) {
+                    selection.add(slotId);
+                }
+            }
+            List<Long> preferred = selection.isEmpty() ? List.of() : List.of(selection.get(random.nextInt(selection.size())));
+            try {
+                votingService.submitVote("stress-" + random.nextInt(VOTERS), selection, preferred);
+                votes.incrementAndGet();
+            } catch (RuntimeException e) {
+                if (!isStaleWeekRejection(e)) {
+                    throw e;
+                }
+                // The week was reset since this "client" loaded it
+                staleRejections.incrementAndGet();
+                knownWeek.set(votingService.getCurrentWeekView());
+            }
+        } else if (dice < 98) {
+            votingService.getCurrentWeekResults();
+            reads.incrementAndGet();
+        } else {
+            CurrentWeekDTO newWeek = votingService.resetWeek();
+            resets.incrementAndGet();
+            knownWeek.set(newWeek);
+            // Every older week is closed for good now: remember what it looks like
+            jdbcTemplate.queryForList("SELECT id FROM voting_week WHERE id < ?", Long.class, newWeek.getId())
+                    .forEach(weekId -> closedWeekFingerprints.computeIfAbsent(weekId, this::fingerprint));
+        }
+    }
+
+    private static boolean isStaleWeekRejection(RuntimeException e) {
+        String message = String.valueOf(e.getMessage());
+        return message.contains("has been closed") || message.contains("do not belong to the current voting week");
+    }
+
+    private void assertSingleActiveWeek() {
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM voting_week WHERE active = TRUE", Long.class));
+    }
+
+    private void assertVotesStayWithinOneWeek() {
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vote WHERE voting_week_id IS NULL", Long.class));
+
+        List<Long> mixed = jdbcTemplate.queryForList(
+                "SELECT DISTINCT v.vote_id FROM vote v JOIN vote_timeslots vt ON vt.vote_id = v.vote_id " +
+                        "JOIN time_slot t ON t.id = vt.timeslot_id WHERE t.voting_week_id <> v.voting_week_id", Long.class);
+        assertTrue(mixed.isEmpty(), "votes with slots of another week: " + mixed);
+
+        Long strayPreferred = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vote_preferred_timeslots p WHERE NOT EXISTS (" +
+                        "SELECT 1 FROM vote_timeslots vt WHERE vt.vote_id = p.vote_id AND vt.timeslot_id = p.timeslot_id)", Long.class);
+        assertEquals(0, strayPreferred, "preferred slots that are not selected");
+    }
+
+    private void assertOneVotePerVoterPerWeek() {
+        // Grouped by the vote's own week, so votes with an empty selection count too
+        List<String> duplicates = jdbcTemplate.queryForList(
+                "SELECT voter_name FROM vote GROUP BY voting_week_id, voter_name HAVING COUNT(*) > 1", String.class);
+        assertTrue(duplicates.isEmpty(), "voters with several votes in one week: " + duplicates);
+    }
+
+    private void assertClosedWeeksUnchanged() {
+        closedWeekFingerprints.forEach((weekId, fingerprint) ->
+                assertEquals(fingerprint, fingerprint(weekId), "week " + weekId + " changed after it was closed"));
+    }
+
+    private void assertTalliesMatchRawRows(long firstWeekId) {
+        List<Long> weekIds = jdbcTemplate.queryForList("SELECT id FROM voting_week WHERE id >= ?", Long.class, firstWeekId);
+        for (Long weekId : weekIds) {
+            WeekResultDTO results = votingService.getWeekResults(weekId);
+            Map<String, VoteResultDTO> votesByVoter = new ConcurrentHashMap<>();
+            results.getVotes().forEach(vote -> votesByVoter.put(vote.getVoterName(), vote));
+
+            for (TimeSlotStatsDTO slot : results.getTimeSlots()) {
+                long raw = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM vote_timeslots WHERE timeslot_id = ?", Long.class, slot.getTimeSlotId());
+                long rawPreferred = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM vote_preferred_timeslots WHERE timeslot_id = ?", Long.class, slot.getTimeSlotId());
+                long listed = votesByVoter.values().stream()
+                        .filter(vote -> vote.getVotedTimeslots().contains(slot.getDatetime()))
+                        .count();
+
+                assertEquals(raw, slot.getVoteCount().longValue(), "vote count of slot " + slot.getTimeSlotId());
+                assertEquals(rawPreferred, slot.getPreferredVoteCount().longValue(), "preferred count of slot " + slot.getTimeSlotId());
+                assertEquals(raw, listed, "voters listed for slot " + slot.getTimeSlotId());
+            }
+        }
+    }
+
+    /**
+     * All votes of a week with their selections (empty ones included) as one string
+     */
+    private String fingerprint(Long weekId) {
+        return String.join(",", jdbcTemplate.queryForList(
+                "SELECT CONCAT(v.vote_id, ':', COALESCE(CAST(vt.timeslot_id AS VARCHAR), '-')) FROM vote v " +
+                        "LEFT JOIN vote_timeslots vt ON vt.vote_id = v.vote_id WHERE v.voting_week_id = ? " +
+                        "ORDER BY v.vote_id, vt.timeslot_id", String.class, weekId));
+    }
+}
@@ -0,0 +1,147 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.dto.VoteExportRowDTO;
+import ds.dnd.voting.services.WeekAvailability.SlotCoverage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class WeekAvailabilityTests {
+
+    private static final LocalDate DEADLINE = LocalDate.of(2025, 3, 16);
+    private static final int SLOTS = 9;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void answersIntersectionUnionAndTopCoverage() {
+        WeekAvailability week = loaded(List.of(
+                row("dm", 0, true), row("dm", 1, false), row("dm", 2, false),
+                row("alice", 1, true), row("alice", 2, false),
+                row("bob", 2, true), row("bob", 3, false)));
+
+        assertEquals(List.of(2), slots(week.intersection(List.of("dm", "alice", "bob"))));
+        assertEquals(List.of(0, 1, 2, 3), slots(week.union(List.of("dm", "alice", "bob"))));
+        assertEquals(List.of(), week.intersection(List.of("dm", "carol")));
+        assertEquals(List.of("carol"), week.unknownVoters(List.of("dm", "carol")));
+
+        // Slot 1 and 2 are both attended by two of dm/alice; slot 1 is preferred by alice
+        List<SlotCoverage> top = week.topCoverage(List.of("dm", "alice"), 2);
+        assertEquals(List.of(1, 2), slots(top));
+        assertEquals(new SlotCoverage(1, 2, 1), top.get(0));
+
+        // All voters when no players are given
+        assertEquals(new SlotCoverage(2, 3, 1), week.topCoverage(List.of(), 1).get(0));
+    }
+
+    @Test
+    void appliesUpdatesInVersionOrderOnly() {
+        WeekAvailability week = new WeekAvailability();
+
+        // Arrives before the initial load and is newer than the loaded state
+        week.update(6, "dm", List.of(slotId(4)), List.of());
+        week.load(5, slots(), List.of(row("dm", 0, false), row("alice", 0, false)));
+        assertEquals(List.of(4), slots(week.union(List.of("dm"))));
+
+        // Older than what was loaded or applied: ignored
+        week.update(5, "alice", List.of(slotId(8)), List.of());
+        week.update(7, "alice", List.of(slotId(3)), List.of());
+        week.update(6, "alice", List.of(slotId(7)), List.of());
+        assertEquals(List.of(3), slots(week.union(List.of("alice"))));
+
+        // Empty selection removes the vote
+        week.update(8, "dm", List.of(), List.of());
+        assertEquals(List.of("dm"), week.unknownVoters(List.of("dm")));
+
+        assertFalse(week.isBehind(8));
+        assertTrue(week.isBehind(9));
+    }
+
+    @Test
+    void detectsMissedVersions() {
+        WeekAvailability week = new WeekAvailability();
+        week.load(2, slots(), List.of());
+        week.update(4, "dm", List.of(slotId(0)), List.of());
+        assertTrue(week.isBehind(4), "version 3 was never seen");
+        week.update(3, "alice", List.of(slotId(0)), List.of());
+        assertFalse(week.isBehind(4));
+    }
+
+    /**
+     * Query latency with a group of 50 voters; logs microseconds per query
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkQueries() {
+        List<VoteExportRowDTO> rows = new ArrayList<>();
+        List<String> players = new ArrayList<>();
+        for (int v = 0; v < 50; v++) {
+            for (int s = 0; s < SLOTS; s++) {
+                if ((v + s) % 3 != 0) {
+                    rows.add(row("player-" + v, s, s == v % SLOTS));
+                }
+            }
+            if (v < 4) {
+                players.add("player-" + v);
+            }
+        }
+        WeekAvailability week = loaded(rows);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            week.intersection(players);
+            week.topCoverage(List.of(), 3);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            week.intersection(players);
+        }
+        double intersectionMicros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            week.topCoverage(List.of(), 3);
+        }
+        double topMicros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+        log.info(String.format("µs/query: intersection of 4=%.2f, top-3 of 50=%.2f", intersectionMicros, topMicros));
+    }
+
+    private static WeekAvailability loaded(List<VoteExportRowDTO> rows) {
+        WeekAvailability week = new WeekAvailability();
+        week.load(1, slots(), rows);
+        return week;
+    }
+
+    private static List<TimeSlotDTO> slots() {
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new TimeSlotDTO(slotId(i), datetime(i)));
+        }
+        return slots;
+    }
+
+    private static VoteExportRowDTO row(String voter, int slot, boolean preferred) {
+        return new VoteExportRowDTO(1L, DEADLINE, voter, slotId(slot), datetime(slot), preferred);
+    }
+
+    private static long slotId(int slot) {
+        return 100L + slot;
+    }
+
+    private static LocalDateTime datetime(int slot) {
+        return DEADLINE.plusDays(1 + slot).atTime(18, 0);
+    }
+
+    private static List<Integer> slots(List<SlotCoverage> coverage) {
+        return coverage.stream().map(SlotCoverage::slot).toList();
+    }
+}
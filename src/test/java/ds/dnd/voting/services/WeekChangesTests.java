@@ -0,0 +1,69 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.dto.CurrentWeekDTO;
+import ds.dnd.voting.dto.TimeSlotDTO;
+import ds.dnd.voting.dto.VoteResultDTO;
+import ds.dnd.voting.dto.WeekChangesDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WeekChangesTests {
+
+    @Autowired
+    private VotingService votingService;
+
+    @Test
+    void returnsOnlyVotersChangedSinceVersion() {
+        CurrentWeekDTO week = votingService.resetWeek();
+        List<Long> slotIds = week.getTimeSlots().stream().map(TimeSlotDTO::getId).toList();
+
+        votingService.submitVote("alice", slotIds.subList(0, 2), List.of());
+        votingService.submitVote("bob", slotIds.subList(0, 1), List.of());
+        long seen = votingService.getWeekChanges(week.getId(), 0).getVersion();
+        assertEquals(2, seen);
+
+        votingService.submitVote("bob", slotIds.subList(1, 3), List.of(slotIds.get(2)));
+        votingService.submitVote("carol", slotIds.subList(1, 2), List.of());
+
+        WeekChangesDTO changes = votingService.getWeekChanges(week.getId(), seen);
+        assertFalse(changes.isSnapshot());
+        assertEquals(4, changes.getVersion());
+        assertEquals(List.of("bob", "carol"), changes.getChangedVotes().stream().map(VoteResultDTO::getVoterName).toList());
+        assertEquals(3, changes.getTimeSlots().stream()
+                .filter(slot -> slot.getTimeSlotId().equals(slotIds.get(1)))
+                .findFirst().orElseThrow().getVoteCount());
+        assertEquals(slotIds.get(1), changes.getWinnerTimeSlots().get(0).getTimeSlotId());
+
+        WeekChangesDTO unchanged = votingService.getWeekChanges(week.getId(), 4);
+        assertTrue(unchanged.getChangedVotes().isEmpty());
+        assertNull(unchanged.getResults());
+    }
+
+    @Test
+    void fallsBackToSnapshotOnceWeekIsClosed() {
+        CurrentWeekDTO week = votingService.resetWeek();
+        votingService.submitVote("dave", List.of(week.getTimeSlots().get(0).getId()), List.of());
+        votingService.resetWeek();
+
+        WeekChangesDTO changes = votingService.getWeekChanges(week.getId(), 0);
+        assertTrue(changes.isSnapshot());
+        assertEquals(2, changes.getVersion()); // The vote, then closing the week
+        assertEquals(1, changes.getResults().getVotes().size());
+    }
+
+    @Test
+    void unknownWeekReturnsNull() {
+        assertNull(votingService.getWeekChanges(-1L, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package ds.dnd.voting.services;
+
+import ds.dnd.voting.VotingApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Several application contexts ("nodes") on one shared database: each rollover happens exactly once
+ */
+class WeekRolloverClusterTests {
+
+    private static final int NODES = 3;
+
+    private final String databaseUrl = "jdbc:h2:mem:rollover-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void concurrentScheduledRunsRollOverOnce() throws Exception {
+        startNode(0);
+        for (int i = 1; i < NODES; i++) {
+            startNode(i);
+        }
+        LocalDate monday = LocalDate.of(2031, 1, 6);
+
+        List<Boolean> performed = onAllNodesAtOnce(node -> node.getBean(WeekRolloverService.class).rollover(monday));
+
+        assertEquals(1, performed.stream().filter(Boolean::booleanValue).count());
+        assertEquals(1, count("SELECT COUNT(*) FROM week_rollover_claim WHERE rollover_date = DATE '2031-01-06'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM voting_week WHERE active = TRUE"));
+    }
+
+    @Test
+    void missedRolloverIsCaughtUpOnceOnStartup() throws Exception {
+        startNode(0);
+        JdbcTemplate jdbcTemplate = nodes.get(0).getBean(JdbcTemplate.class);
+        LocalDate pastDeadline = LocalDate.now(WeekRolloverService.ROLLOVER_ZONE).minusDays(10);
+        jdbcTemplate.update("UPDATE voting_week SET active = FALSE");
+        jdbcTemplate.update("INSERT INTO voting_week (deadline, active) VALUES (?, TRUE)", pastDeadline);
+        long weeksBefore = count("SELECT COUNT(*) FROM voting_week");
+
+        // The remaining nodes start at the same time, as after a deployment
+        ExecutorService executor = Executors.newFixedThreadPool(NODES - 1);
+        List<Future<?>> starting = new ArrayList<>();
+        for (int i = 1; i < NODES; i++) {
+            int index = i;
+            starting.add(executor.submit(() -> startNode(index)));
+        }
+        for (Future<?> future : starting) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(weeksBefore + 1, count("SELECT COUNT(*) FROM voting_week"));
+        assertEquals(1, count("SELECT COUNT(*) FROM week_rollover_claim WHERE rollover_date = ?", pastDeadline.plusDays(1)));
+        LocalDate activeDeadline = jdbcTemplate.queryForObject(
+                "SELECT deadline FROM voting_week WHERE active = TRUE", LocalDate.class);
+        assertEquals(LocalDate.now(WeekRolloverService.ROLLOVER_ZONE).with(TemporalAdjusters.next(DayOfWeek.SUNDAY)),
+                activeDeadline);
+    }
+
+    private ConfigurableApplicationContext startNode(int index) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(VotingApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + databaseUrl,
+                        "--server.port=0",
+                        "--app.node-id=node-" + index);
+        synchronized (nodes) {
+            nodes.add(context);
+        }
+        return context;
+    }
+
+    private <T> List<T> onAllNodesAtOnce(NodeAction<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (ConfigurableApplicationContext node : nodes) {
+            Callable<T> task = () -> {
+                start.await();
+                return action.apply(node);
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface NodeAction<T> {
+        T apply(ConfigurableApplicationContext node);
+    }
+
+    private long count(String sql, Object... args) {
+        return nodes.get(0).getBean(JdbcTemplate.class).queryForObject(sql, Long.class, args);
+    }
+}